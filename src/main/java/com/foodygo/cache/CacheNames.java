@@ -0,0 +1,15 @@
+package com.foodygo.cache;
+
+/**
+ * Names of the {@link NearCache}s, shared by the services that read an entry and the services whose writes change it.
+ */
+public final class CacheNames {
+
+    public static final String RESTAURANT = "restaurant";
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+    public static final String HUB = "hub";
+
+    private CacheNames() {
+    }
+}
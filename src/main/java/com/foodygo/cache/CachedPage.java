@@ -0,0 +1,10 @@
+package com.foodygo.cache;
+
+import java.util.List;
+
+/**
+ * Redis representation of a {@link org.springframework.data.domain.Page}: the content and the total, the rest is
+ * rebuilt from the {@link org.springframework.data.domain.Pageable} of the call.
+ */
+record CachedPage<T>(List<T> content, long totalElements) {
+}
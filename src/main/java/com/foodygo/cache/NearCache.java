@@ -0,0 +1,121 @@
+package com.foodygo.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodygo.dto.response.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-level cache of read models: a bounded in-process L1 in front of a Redis L2 shared by every instance.
+ * Values must be immutable, they are handed out to concurrent callers as is. Created and invalidated through {@link NearCacheManager}.
+ * Every invalidation bumps the version of its key, and a loaded value reaches L2 only if the version it was loaded under is
+ * still current, so a load racing with a change cannot put the old value back. A version is kept at least as long as an entry
+ * lives in L2; once it expires, no load that could have read the value it guarded is still running.
+ */
+@Slf4j
+public class NearCache<V> {
+
+    private final String name;
+    private final JavaType type;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, V> localCache;
+    private final Duration redisTtl;
+
+    private final AtomicLong redisHits = new AtomicLong();
+    private final AtomicLong redisMisses = new AtomicLong();
+
+    private static final RedisScript<Long> PUT_SCRIPT = RedisScript.of(new ClassPathResource("scripts/near/put.lua"), Long.class);
+
+    NearCache(String name, JavaType type, StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+              long localSize, Duration localTtl, Duration redisTtl) {
+        this.name = name;
+        this.type = type;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached value, loading it from Redis or else from {@code loader} on a miss.
+     * Exceptions of the loader propagate and nothing is cached, nor is a {@code null} value.
+     */
+    public V get(Object key, Supplier<V> loader) {
+        return localCache.get(String.valueOf(key), k -> loadFromRedisOrLoader(k, loader));
+    }
+
+    void evictLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    static String redisKey(String name, String key) {
+        return "near:" + name + ":" + key;
+    }
+
+    // one key per invalidated entry, expiring like the entries so keys that are never read again do not pile up
+    static String versionKey(String name, String key) {
+        return "near-version:" + name + ":" + key;
+    }
+
+    Duration getRedisTtl() {
+        return redisTtl;
+    }
+
+    public CacheStatsResponse getStats() {
+        CacheStats stats = localCache.stats();
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(localCache.estimatedSize())
+                .localHits(stats.hitCount())
+                .localMisses(stats.missCount())
+                .localEvictions(stats.evictionCount())
+                .remoteHits(redisHits.get())
+                .remoteMisses(redisMisses.get())
+                .hitRatio(stats.hitRate())
+                .build();
+    }
+
+    private V loadFromRedisOrLoader(String key, Supplier<V> loader) {
+        String redisKey = redisKey(name, key);
+        String version = null;
+        try {
+            String current = stringRedisTemplate.opsForValue().get(versionKey(name, key));
+            version = current == null ? "0" : current;
+            String data = stringRedisTemplate.opsForValue().get(redisKey);
+            if (data != null) {
+                redisHits.incrementAndGet();
+                return objectMapper.readValue(data, type);
+            }
+        } catch (Exception e) {
+            log.warn("Cannot read {} from redis: {}", redisKey, e.toString());
+        }
+        redisMisses.incrementAndGet();
+
+        V value = loader.get();
+        if (value != null && version != null) {
+            try {
+                stringRedisTemplate.execute(PUT_SCRIPT, List.of(redisKey, versionKey(name, key)),
+                        version, objectMapper.writeValueAsString(value), String.valueOf(redisTtl.toSeconds()));
+            } catch (Exception e) {
+                log.warn("Cannot write {} to redis: {}", redisKey, e.toString());
+            }
+        }
+        return value;
+    }
+}
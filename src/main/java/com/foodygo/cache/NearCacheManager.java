@@ -0,0 +1,155 @@
+package com.foodygo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodygo.dto.response.CacheStatsResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the {@link NearCache}s of this instance. An invalidation deletes the Redis entry, bumps its version and is published on a pub/sub
+ * channel, so every instance, this one included, drops its local copy as soon as the message arrives.
+ * The local TTL bounds staleness if a message is lost while an instance is disconnected.
+ */
+@Slf4j
+@Component
+public class NearCacheManager implements MessageListener {
+
+    private static final String CHANNEL = "near-cache:invalidate";
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = RedisScript.of(new ClassPathResource("scripts/near/invalidate.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final long localSize;
+    private final Duration localTtl;
+    private final Duration redisTtl;
+    private final Map<String, NearCache<?>> caches = new ConcurrentHashMap<>();
+
+    public NearCacheManager(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                            RedisMessageListenerContainer redisMessageListenerContainer,
+                            @Value("${application.cache.near.local-size}") long localSize,
+                            @Value("${application.cache.near.local-ttl-seconds}") long localTtlSeconds,
+                            @Value("${application.cache.near.redis-ttl-seconds}") long redisTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.localSize = localSize;
+        this.localTtl = Duration.ofSeconds(localTtlSeconds);
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public <V> NearCache<V> getCache(String name, Class<V> type) {
+        return getCache(name, type, localSize, localTtl, redisTtl);
+    }
+
+    /**
+     * Same as {@link #getCache(String, Class)} for a cache that needs its own sizing; the settings of the first call win.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> NearCache<V> getCache(String name, Class<V> type, long localSize, Duration localTtl, Duration redisTtl) {
+        return (NearCache<V>) caches.computeIfAbsent(name, n -> new NearCache<>(n, objectMapper.constructType(type),
+                stringRedisTemplate, objectMapper, localSize, localTtl, redisTtl));
+    }
+
+    /**
+     * Drops an entry on every instance, once the surrounding transaction has committed if there is one.
+     */
+    public void invalidate(String name, Object key) {
+        if (key != null) {
+            invalidate(name, List.of(key));
+        }
+    }
+
+    /**
+     * Drops several entries of one cache with a single Redis delete and a single message.
+     */
+    public void invalidate(String name, Collection<?> keys) {
+        List<String> stringKeys = keys.stream().filter(Objects::nonNull).map(String::valueOf).distinct().toList();
+        if (stringKeys.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateNow(name, stringKeys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateNow(name, stringKeys);
+            }
+        });
+    }
+
+    public List<CacheStatsResponse> getStats() {
+        return caches.values().stream()
+                .map(NearCache::getStats)
+                .sorted(Comparator.comparing(CacheStatsResponse::getName))
+                .toList();
+    }
+
+    // keys are free text, an email may contain any separator, so the message is JSON
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+        } catch (IOException e) {
+            log.warn("Cannot read near cache invalidation {}: {}", new String(message.getBody(), StandardCharsets.UTF_8), e.toString());
+            return;
+        }
+        NearCache<?> cache = caches.get(invalidation.name());
+        if (cache != null && invalidation.keys() != null) {
+            invalidation.keys().forEach(cache::evictLocal);
+        }
+    }
+
+    private void invalidateNow(String name, List<String> keys) {
+        NearCache<?> cache = caches.get(name);
+        if (cache != null) {
+            keys.forEach(cache::evictLocal);
+        }
+        // the version has to outlive the entries of the cache, whichever ttl this instance created it with
+        Duration versionTtl = cache != null && cache.getRedisTtl().compareTo(redisTtl) > 0 ? cache.getRedisTtl() : redisTtl;
+        try {
+            List<String> redisKeys = new ArrayList<>(keys.size() * 2);
+            for (String key : keys) {
+                redisKeys.add(NearCache.redisKey(name, key));
+                redisKeys.add(NearCache.versionKey(name, key));
+            }
+            stringRedisTemplate.execute(INVALIDATE_SCRIPT, redisKeys, String.valueOf(versionTtl.toSeconds()));
+            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(new Invalidation(name, keys)));
+        } catch (Exception e) {
+            log.warn("Cannot invalidate {} {} in redis: {}", name, keys, e.toString());
+        }
+    }
+
+    record Invalidation(String name, List<String> keys) {
+    }
+}
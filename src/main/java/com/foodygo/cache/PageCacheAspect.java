@@ -0,0 +1,159 @@
+package com.foodygo.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Implements {@link PageCached} and {@link PageCacheEvict}. Keys are {@code page:<namespace>:v<version>:<method>:<arguments>};
+ * evicting a namespace increments its version, which is O(1) however many pages are cached, and the entries written under
+ * older versions expire by their TTL. Redis failures are logged and the listing is served from the database.
+ */
+@Slf4j
+@Aspect
+@Component
+public class PageCacheAspect {
+
+    private static final String KEY_PREFIX = "page:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration defaultTtl;
+    private final Map<Method, JavaType> cachedTypes = new ConcurrentHashMap<>();
+
+    public PageCacheAspect(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                           @Value("${application.cache.page.ttl-seconds}") long defaultTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+    }
+
+    @Around("@annotation(pageCached)")
+    public Object cache(ProceedingJoinPoint joinPoint, PageCached pageCached) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object[] args = joinPoint.getArgs();
+        String key;
+        try {
+            key = KEY_PREFIX + pageCached.value() + ":v" + getVersion(pageCached.value()) + ":" + method.getName() + getArgumentsKey(args);
+            String cached = stringRedisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return fromCache(objectMapper.readValue(cached, getCachedType(method)), args);
+            }
+        } catch (Exception e) {
+            log.warn("Cannot read page cache {}: {}", pageCached.value(), e.toString());
+            return joinPoint.proceed();
+        }
+
+        Object result = joinPoint.proceed();
+        if (result != null) {
+            try {
+                Duration ttl = pageCached.ttlSeconds() > 0 ? Duration.ofSeconds(pageCached.ttlSeconds()) : defaultTtl;
+                stringRedisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(toCache(result)), ttl);
+            } catch (Exception e) {
+                log.warn("Cannot write page cache {}: {}", pageCached.value(), e.toString());
+            }
+        }
+        return result;
+    }
+
+    // a rolled back write must not invalidate, and a page read before the commit must not survive it
+    @AfterReturning("@annotation(pageCacheEvict)")
+    public void evict(PageCacheEvict pageCacheEvict) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpVersions(pageCacheEvict.value());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bumpVersions(pageCacheEvict.value());
+            }
+        });
+    }
+
+    private void bumpVersions(String[] namespaces) {
+        for (String namespace : namespaces) {
+            try {
+                stringRedisTemplate.opsForValue().increment(KEY_PREFIX + namespace + ":version");
+            } catch (Exception e) {
+                log.warn("Cannot evict page cache {}: {}", namespace, e.toString());
+            }
+        }
+    }
+
+    private String getVersion(String namespace) {
+        String version = stringRedisTemplate.opsForValue().get(KEY_PREFIX + namespace + ":version");
+        return version == null ? "0" : version;
+    }
+
+    private String getArgumentsKey(Object[] args) {
+        StringBuilder key = new StringBuilder();
+        for (Object arg : args) {
+            key.append(':');
+            if (arg instanceof Pageable pageable) {
+                key.append(pageable.isPaged() ? "p" + pageable.getPageNumber() + ",s" + pageable.getPageSize() : "unpaged")
+                        .append(',').append(getSortKey(pageable.getSort()));
+            } else {
+                key.append(arg);
+            }
+        }
+        return key.toString();
+    }
+
+    private String getSortKey(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "unsorted";
+        }
+        return sort.stream()
+                .map(order -> order.getProperty() + "." + order.getDirection() + (order.isIgnoreCase() ? ".i" : ""))
+                .collect(Collectors.joining(";"));
+    }
+
+    // a Page<T> is stored as CachedPage<T>, anything else as its declared return type
+    private JavaType getCachedType(Method method) {
+        return cachedTypes.computeIfAbsent(method, m -> {
+            JavaType returnType = objectMapper.getTypeFactory().constructType(m.getGenericReturnType());
+            if (Page.class.isAssignableFrom(returnType.getRawClass())) {
+                return objectMapper.getTypeFactory().constructParametricType(CachedPage.class, returnType.containedTypeOrUnknown(0));
+            }
+            return returnType;
+        });
+    }
+
+    private Object toCache(Object result) {
+        return result instanceof Page<?> page ? new CachedPage<>(page.getContent(), page.getTotalElements()) : result;
+    }
+
+    private Object fromCache(Object cached, Object[] args) {
+        if (!(cached instanceof CachedPage<?> page)) {
+            return cached;
+        }
+        Pageable pageable = Pageable.unpaged();
+        for (Object arg : args) {
+            if (arg instanceof Pageable argument) {
+                pageable = argument;
+            }
+        }
+        return new PageImpl<>(page.content(), pageable, page.totalElements());
+    }
+}
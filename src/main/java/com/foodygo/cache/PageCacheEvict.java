@@ -0,0 +1,19 @@
+package com.foodygo.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Invalidates every {@link PageCached} entry of the given namespaces once the annotated method returns,
+ * or once its transaction commits if it runs in one.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PageCacheEvict {
+
+    String[] value();
+}
@@ -0,0 +1,28 @@
+package com.foodygo.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the result of a listing method in Redis, keyed by the method name and its arguments.
+ * A {@link org.springframework.data.domain.Page} is stored with its total element count, a {@link org.springframework.data.domain.Pageable}
+ * argument contributes its page, size and full sort to the key. Entries are invalidated per namespace by {@link PageCacheEvict}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PageCached {
+
+    /**
+     * Namespace of the listing, shared by every method whose results one write can change.
+     */
+    String value();
+
+    /**
+     * Time to live in seconds, {@code application.cache.page.ttl-seconds} when not positive.
+     */
+    long ttlSeconds() default 0;
+}
@@ -20,7 +20,7 @@ public class CorsConfig {
                 "http://localhost:5173",
                 "http://foodygo.theanh0804.id.vn",
                 "https://foodygo.theanh0804.id.vn"));
-        corsConfiguration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        corsConfiguration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         corsConfiguration.setAllowedHeaders(List.of("*"));
         corsConfiguration.setExposedHeaders(List.of("Authorization", "Content-Disposition"));
         corsConfiguration.setAllowCredentials(true);
@@ -23,8 +23,6 @@ public class CustomUserDetail implements UserDetails {
     private String email;
     private String password;
     private String phone;
-    private String accessToken;
-    private String refreshToken;
     private boolean nonLocked;
     private boolean enabled;
     private Collection<GrantedAuthority> grantedAuthorities;
@@ -42,8 +40,6 @@ public class CustomUserDetail implements UserDetails {
                 .password(user.getPassword())
                 .phone(user.getPhone())
                 .nonLocked(user.isNonLocked())
-                .accessToken(user.getAccessToken())
-                .refreshToken(user.getRefreshToken())
                 .enabled(user.isEnabled())
                 .grantedAuthorities(roles)
                 .build();
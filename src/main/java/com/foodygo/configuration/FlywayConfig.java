@@ -0,0 +1,16 @@
+package com.foodygo.configuration;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    // tables are still created by hibernate, so migrations are deferred to SchemaMigrationInitializer instead of running before JPA
+    @Bean
+    public FlywayMigrationStrategy deferredMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+}
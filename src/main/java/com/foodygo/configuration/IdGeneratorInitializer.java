@@ -0,0 +1,41 @@
+package com.foodygo.configuration;
+
+import com.foodygo.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the pooled id generator past the rows that were inserted while the order tables still used IDENTITY columns.
+ * The pooled optimizer hands out {@code (next_val - allocationSize, next_val]} first, so the stored value must be at least
+ * {@code max(id) + allocationSize}. Runs before any runner or request can allocate an id.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorInitializer {
+
+    // each generator segment is named after the table it allocates ids for
+    private static final List<String> SEGMENTS = List.of("customer-order", "order-detail");
+
+    private final JdbcTemplate jdbcTemplate;
+    // injected so the schema, including the generator table, is up to date before this runs
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void alignWithExistingRows() {
+        for (String segment : SEGMENTS) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM `" + segment + "`", Long.class);
+            long floor = (maxId == null ? 0 : maxId) + IdGenerators.ALLOCATION_SIZE;
+            jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE " + IdGenerators.VALUE_COLUMN + " = GREATEST(" + IdGenerators.VALUE_COLUMN + ", VALUES(" + IdGenerators.VALUE_COLUMN + "))",
+                    segment, floor);
+            log.info("Id generator {} starts above {}", segment, maxId);
+        }
+    }
+}
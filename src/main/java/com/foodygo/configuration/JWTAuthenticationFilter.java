@@ -2,6 +2,7 @@ package com.foodygo.configuration;
 
 import com.foodygo.enums.EnumTokenType;
 import com.foodygo.exception.AuthenticationException;
+import com.foodygo.service.TokenSessionService;
 import io.jsonwebtoken.lang.Strings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -16,7 +17,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
@@ -32,7 +32,9 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JWTToken jwtToken;
     @Autowired
-    private CustomUserDetailService customUserDetailService;
+    private UserPrincipalCache userPrincipalCache;
+    @Autowired
+    private TokenSessionService tokenSessionService;
 
     @Autowired
     @Qualifier("handlerExceptionResolver")
@@ -52,6 +54,8 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             "/favicon.ico"
     );
 
+    private final PublicPathMatcher publicPathMatcher = new PublicPathMatcher(NON_USER);
+
     public String getToken(HttpServletRequest request) {
         try {
             String s = request.getHeader("Authorization");
@@ -76,11 +80,11 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
             String bearerToken = getToken(request);
-            if (Strings.hasText(bearerToken) && jwtToken.validate(bearerToken, EnumTokenType.TOKEN)) {
-                String email = jwtToken.getEmailFromJwt(bearerToken, EnumTokenType.TOKEN);
-                CustomUserDetail customUserDetail = (CustomUserDetail) customUserDetailService.loadUserByUsername(email);
+            if (Strings.hasText(bearerToken)) {
+                JwtClaims claims = jwtToken.parse(bearerToken, EnumTokenType.TOKEN);
+                CustomUserDetail customUserDetail = userPrincipalCache.get(claims.subject());
                 if (customUserDetail != null) {
-                    if (customUserDetail.getAccessToken() != null && customUserDetail.getAccessToken().equals(bearerToken)) {
+                    if (tokenSessionService.isActive(claims)) {
                         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
                                 new UsernamePasswordAuthenticationToken(customUserDetail, null, customUserDetail.getAuthorities());
                         usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -103,8 +107,7 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private boolean isAuthentication(String uri) {
-        AntPathMatcher patchMatcher = new AntPathMatcher();
-        return NON_USER.stream().anyMatch(pattern -> patchMatcher.match(pattern, uri));
+        return publicPathMatcher.matches(uri);
     }
 
 //    private boolean testIsAuthentication(String uri){
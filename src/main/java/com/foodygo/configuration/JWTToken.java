@@ -3,16 +3,20 @@ package com.foodygo.configuration;
 import com.foodygo.enums.EnumTokenType;
 import com.foodygo.exception.AuthenticationException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Map;
 
 @Service
 public class JWTToken {
@@ -32,27 +36,40 @@ public class JWTToken {
     @Value("${jwt.algorithms}")
     private String algorithm;
 
+    // keys and parsers are immutable and thread-safe, so they are built once instead of per call
+    private SecretKey tokenKey;
+    private SecretKey refreshTokenKey;
+    private JwtParser tokenParser;
+    private JwtParser refreshTokenParser;
+
+    @PostConstruct
+    void init() {
+        tokenKey = new SecretKeySpec(Base64.getDecoder().decode(sceretString.getBytes(StandardCharsets.UTF_8)), algorithm);
+        refreshTokenKey = new SecretKeySpec(Base64.getDecoder().decode(refreshSecretString.getBytes(StandardCharsets.UTF_8)), algorithm);
+        tokenParser = Jwts.parser().verifyWith(tokenKey).build();
+        refreshTokenParser = Jwts.parser().verifyWith(refreshTokenKey).build();
+    }
+
     private SecretKey getSecretKey(EnumTokenType type) {
-        byte[] keyBytes;
-        SecretKey SCRET_KEY;
-        if(type == EnumTokenType.TOKEN) {
-            keyBytes = Base64.getDecoder().decode(sceretString.getBytes(StandardCharsets.UTF_8));
-        } else {
-            keyBytes = Base64.getDecoder().decode(refreshSecretString.getBytes(StandardCharsets.UTF_8));
-        }
-        SCRET_KEY = new SecretKeySpec(keyBytes, algorithm);
-        return SCRET_KEY;
+        return type == EnumTokenType.TOKEN ? tokenKey : refreshTokenKey;
+    }
+
+    private JwtParser getParser(EnumTokenType type) {
+        return type == EnumTokenType.TOKEN ? tokenParser : refreshTokenParser;
     }
 
-    public String generatedToken(CustomUserDetail customUserDetail) {
+    public String generatedToken(CustomUserDetail customUserDetail, String sessionId, String tokenId, long epoch) {
         Date date = new Date(System.currentTimeMillis());
 
         Date exp = new Date(System.currentTimeMillis() + JWT_EXPIRATION);
 
         return Jwts.builder()
+                .id(tokenId)
                 .subject(customUserDetail.getUsername())
                 .issuedAt(date)
                 .expiration(exp)
+                .claim("sid", sessionId)
+                .claim("epoch", epoch)
                 .claim("userID", customUserDetail.getUserID())
                 .claim("fullName", customUserDetail.getFullName())
                 .claim("role", customUserDetail.getGrantedAuthorities())
@@ -60,15 +77,19 @@ public class JWTToken {
                 .compact();
     }
 
-    public String generatedRefreshToken(CustomUserDetail customUserDetail) {
+    // the refresh token id is the session id itself
+    public String generatedRefreshToken(CustomUserDetail customUserDetail, String sessionId, long epoch) {
         Date date = new Date(System.currentTimeMillis());
 
         Date exp = new Date(System.currentTimeMillis() + JWT_REFRESH_EXPIRATION);
 
         return Jwts.builder()
+                .id(sessionId)
                 .subject(customUserDetail.getUsername())
                 .issuedAt(date)
                 .expiration(exp)
+                .claim("sid", sessionId)
+                .claim("epoch", epoch)
                 .claim("userID", customUserDetail.getUserID())
                 .claim("fullName", customUserDetail.getFullName())
                 .claim("role", customUserDetail.getGrantedAuthorities())
@@ -76,33 +97,57 @@ public class JWTToken {
                 .compact();
     }
 
-    public String getEmailFromJwt(String token, EnumTokenType type) {
-        return getClaims(token, Claims::getSubject, type);
+    public Duration getRefreshExpiration() {
+        return Duration.ofMillis(JWT_REFRESH_EXPIRATION);
     }
 
-    private <T> T getClaims(String token, Function<Claims, T> claimsTFunction, EnumTokenType type) {
+    /**
+     * Verifies the signature and expiry of a token exactly once and returns its claims.
+     *
+     * @throws AuthenticationException if the token is malformed, forged, expired or has no subject
+     */
+    public JwtClaims parse(String token, EnumTokenType type) {
+        Claims claims;
         try {
-            return claimsTFunction.apply(
-                    Jwts.parser().verifyWith(getSecretKey(type)).build().parseSignedClaims(token).getPayload());
+            claims = getParser(type).parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             throw new AuthenticationException("You don't have permission to access this token");
         }
-    }
-
-    public boolean validate(String token, EnumTokenType type) {
-        try {
-            return getEmailFromJwt(token, type) != null && !isExpired(token, type);
-        } catch (Exception e) {
+        Date expiration = claims.getExpiration();
+        if (claims.getSubject() == null || (expiration != null && expiration.before(new Date(System.currentTimeMillis())))) {
             throw new AuthenticationException("You don't have permission to access this token");
         }
+        Long epoch = claims.get("epoch", Long.class);
+        return new JwtClaims(
+                claims.getId(),
+                claims.get("sid", String.class),
+                epoch == null ? 0 : epoch,
+                claims.getSubject(),
+                claims.get("userID", Integer.class),
+                getRole(claims.get("role")),
+                expiration == null ? null : expiration.toInstant()
+        );
     }
 
-    public boolean isExpired(String token, EnumTokenType type) {
-        try {
-            return getClaims(token, Claims::getExpiration, type).before(new Date(System.currentTimeMillis()));
-        } catch (Exception e) {
-            throw new AuthenticationException("You don't have permission to access this token");
+    // role is written as the serialized authorities collection, e.g. [{"authority":"ROLE_USER"}]
+    private String getRole(Object role) {
+        if (role instanceof Collection<?> authorities && !authorities.isEmpty()) {
+            Object authority = authorities.iterator().next();
+            if (authority instanceof Map<?, ?> map && map.get("authority") != null) {
+                return map.get("authority").toString();
+            }
+            return authority.toString();
         }
+        return role == null ? null : role.toString();
+    }
+
+    public String getEmailFromJwt(String token, EnumTokenType type) {
+        return parse(token, type).subject();
+    }
+
+    public boolean validate(String token, EnumTokenType type) {
+        parse(token, type);
+        return true;
     }
 
 }
@@ -0,0 +1,17 @@
+package com.foodygo.configuration;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token that has already been verified by {@link JWTToken#parse}.
+ */
+public record JwtClaims(
+        String tokenId,
+        String sessionId,
+        long epoch,
+        String subject,
+        Integer userID,
+        String role,
+        Instant expiration
+) {
+}
@@ -0,0 +1,63 @@
+package com.foodygo.configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches request URIs against a fixed set of public paths using a character trie built once at startup.
+ * Supports exact paths ({@code /login}) and trailing wildcards ({@code /swagger-ui/**}), which follow
+ * {@link org.springframework.util.AntPathMatcher} semantics: {@code /x/**} matches {@code /x} and everything below it.
+ * A lookup walks the URI once and allocates nothing.
+ */
+public class PublicPathMatcher {
+
+    private static final String WILDCARD_SUFFIX = "/**";
+
+    private final Node root = new Node();
+
+    public PublicPathMatcher(List<String> patterns) {
+        for (String pattern : patterns) {
+            if (pattern.endsWith(WILDCARD_SUFFIX)) {
+                insert(pattern.substring(0, pattern.length() - WILDCARD_SUFFIX.length())).prefix = true;
+            } else {
+                insert(pattern).exact = true;
+            }
+        }
+    }
+
+    private Node insert(String path) {
+        if (path.contains("*") || path.contains("?") || path.contains("{")) {
+            throw new IllegalArgumentException("Only exact paths and trailing /** are supported: " + path);
+        }
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.children.computeIfAbsent(path.charAt(i), c -> new Node());
+        }
+        return node;
+    }
+
+    public boolean matches(String uri) {
+        if (uri == null) {
+            return false;
+        }
+        Node node = root;
+        int length = uri.length();
+        for (int i = 0; i < length; i++) {
+            if (node.prefix && uri.charAt(i) == '/') {
+                return true;
+            }
+            node = node.children.get(uri.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.exact || node.prefix;
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        boolean exact;
+        boolean prefix;
+    }
+}
@@ -0,0 +1,28 @@
+package com.foodygo.configuration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the versioned scripts in {@code db/migration} once hibernate has brought the tables up to date.
+ * Indexes and other schema objects that {@code ddl-auto} cannot manage are declared there, not on the entities.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaMigrationInitializer {
+
+    private final Flyway flyway;
+    // injected so the tables the migrations alter exist before this runs
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void migrate() {
+        int applied = flyway.migrate().migrationsExecuted;
+        log.info("Applied {} schema migrations", applied);
+    }
+}
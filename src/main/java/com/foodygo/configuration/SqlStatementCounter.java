@@ -0,0 +1,124 @@
+package com.foodygo.configuration;
+
+import com.foodygo.dto.response.SqlCountResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a request is handled, per endpoint.
+ * A request above {@code application.sql.warn-threshold} statements is logged, which is how an association that went back
+ * to being loaded row by row shows up. Statements sent through JdbcTemplate do not pass through Hibernate and are not counted.
+ */
+@Slf4j
+@Component
+public class SqlStatementCounter implements StatementInspector, AsyncHandlerInterceptor {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    private final int warnThreshold;
+    private final Map<String, EndpointCount> counts = new ConcurrentHashMap<>();
+
+    public SqlStatementCounter(@Value("${application.sql.warn-threshold}") int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = CURRENT.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CURRENT.set(new int[1]);
+        return true;
+    }
+
+    // streaming responses hand the request over to another thread, their statements are not attributed to the endpoint
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int[] current = CURRENT.get();
+        CURRENT.remove();
+        if (current == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        counts.computeIfAbsent(endpoint, key -> new EndpointCount()).record(current[0]);
+        if (current[0] > warnThreshold) {
+            log.warn("{} ran {} SQL statements", endpoint, current[0]);
+        }
+    }
+
+    /**
+     * Runs {@code work} and returns the number of statements Hibernate prepared for it on the calling thread.
+     * Statements of other threads, such as the scheduled jobs, are not included.
+     */
+    public int count(Runnable work) {
+        int[] outer = CURRENT.get();
+        int[] current = new int[1];
+        CURRENT.set(current);
+        try {
+            work.run();
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                outer[0] += current[0];
+                CURRENT.set(outer);
+            }
+        }
+        return current[0];
+    }
+
+    public List<SqlCountResponse> getStats() {
+        return counts.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparing(SqlCountResponse::getMaxStatements).reversed())
+                .toList();
+    }
+
+    private static final class EndpointCount {
+        private long requests;
+        private long statements;
+        private int max;
+        private int last;
+
+        synchronized void record(int count) {
+            requests++;
+            statements += count;
+            max = Math.max(max, count);
+            last = count;
+        }
+
+        synchronized SqlCountResponse toResponse(String endpoint) {
+            return SqlCountResponse.builder()
+                    .endpoint(endpoint)
+                    .requests(requests)
+                    .statements(statements)
+                    .averageStatements(requests == 0 ? 0 : (double) statements / requests)
+                    .maxStatements(max)
+                    .lastStatements(last)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.foodygo.configuration;
+
+import com.foodygo.cache.NearCache;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.dto.response.CacheStatsResponse;
+import com.foodygo.entity.User;
+import com.foodygo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Two-level cache of the principals used by {@link JWTAuthenticationFilter}, kept in the {@code principal} {@link NearCache}.
+ * L1 is a bounded in-process cache with a short TTL, L2 is Redis, and the database is only hit on a miss in both.
+ * Entries must be evicted through {@link #evict(String)} whenever the profile, lock or role state of a user changes;
+ * the eviction is published through {@link NearCacheManager}, so a locked user is dropped from every instance, not only this one.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private static final String CACHE_NAME = "principal";
+
+    private final UserRepository userRepository;
+    private final NearCacheManager nearCacheManager;
+    private final NearCache<CachedPrincipal> cache;
+
+    public UserPrincipalCache(UserRepository userRepository, NearCacheManager nearCacheManager,
+                              @Value("${application.cache.principal.local-size}") long localSize,
+                              @Value("${application.cache.principal.local-ttl-seconds}") long localTtlSeconds,
+                              @Value("${application.cache.principal.redis-ttl-seconds}") long redisTtlSeconds) {
+        this.userRepository = userRepository;
+        this.nearCacheManager = nearCacheManager;
+        this.cache = nearCacheManager.getCache(CACHE_NAME, CachedPrincipal.class, localSize,
+                Duration.ofSeconds(localTtlSeconds), Duration.ofSeconds(redisTtlSeconds));
+    }
+
+    public CustomUserDetail get(String email) {
+        if (email == null) {
+            return null;
+        }
+        CachedPrincipal principal = cache.get(email, () -> {
+            User user = userRepository.getUserByEmail(email);
+            return user == null ? null : CachedPrincipal.from(user);
+        });
+        return principal == null ? null : principal.toUserDetail();
+    }
+
+    // deferred until the surrounding transaction commits, so a concurrent request cannot re-cache the old state
+    public void evict(String email) {
+        nearCacheManager.invalidate(CACHE_NAME, email);
+    }
+
+    public CacheStatsResponse getStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * Cached representation of a principal. The password hash is deliberately left out.
+     */
+    record CachedPrincipal(
+            int userID,
+            String fullName,
+            String email,
+            String phone,
+            boolean nonLocked,
+            boolean enabled,
+            String role
+    ) {
+        static CachedPrincipal from(User user) {
+            return new CachedPrincipal(user.getUserID(), user.getFullName(), user.getEmail(), user.getPhone(),
+                    user.isNonLocked(), user.isEnabled(), user.getRole().getRoleName().name());
+        }
+
+        CustomUserDetail toUserDetail() {
+            List<GrantedAuthority> roles = new ArrayList<>();
+            roles.add(new SimpleGrantedAuthority(role));
+            return CustomUserDetail.builder()
+                    .userID(userID)
+                    .fullName(fullName)
+                    .email(email)
+                    .phone(phone)
+                    .nonLocked(nonLocked)
+                    .enabled(enabled)
+                    .grantedAuthorities(roles)
+                    .build();
+        }
+    }
+}
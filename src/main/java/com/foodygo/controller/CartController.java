@@ -2,6 +2,7 @@ package com.foodygo.controller;
 
 import com.foodygo.dto.cart.Cart;
 import com.foodygo.dto.cart.CartItem;
+import com.foodygo.dto.request.CheckoutRequest;
 import com.foodygo.dto.response.ObjectResponse;
 import com.foodygo.service.CartServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
@@ -63,6 +64,28 @@ public class CartController {
                 );
     }
 
+    @PutMapping("/users/{userId}/products/{productId}")
+    @Operation(summary = "Change Cart Quantity", description = "Change the quantity of a product in cart, the product is removed when it reaches zero.")
+    @PreAuthorize("hasAnyRole('USER')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cart updated"),
+            @ApiResponse(responseCode = "400", description = "Invalid cart request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> incrementQuantity(@PathVariable Integer userId, @PathVariable Integer productId, @RequestParam Integer delta) {
+        Cart cart = cartService.incrementQuantity(userId, productId, delta);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(HttpStatus.OK.toString())
+                                .message("Update cart successfully!")
+                                .data(cart)
+                                .build()
+                );
+    }
+
     @DeleteMapping("/users/{userId}/products/{productId}")
     @Operation(summary = "Remove From Cart", description = "Remove a product from cart.")
     @PreAuthorize("hasAnyRole('USER')")
@@ -86,6 +109,27 @@ public class CartController {
                 );
     }
 
+    @PostMapping("/users/{userId}/checkout")
+    @Operation(summary = "Checkout Cart", description = "Create an order from the cart and clear the cart.")
+    @PreAuthorize("hasAnyRole('USER')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Order created"),
+            @ApiResponse(responseCode = "400", description = "Empty cart or invalid checkout request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> checkout(@PathVariable Integer userId, @RequestBody CheckoutRequest checkoutRequest) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(
+                        ObjectResponse.builder()
+                                .status(HttpStatus.CREATED.toString())
+                                .message("Checkout successfully!")
+                                .data(cartService.checkout(userId, checkoutRequest))
+                                .build()
+                );
+    }
+
     @DeleteMapping("/users/{userId}")
     @Operation(summary = "Clear Cart", description = "Remove all product from cart.")
     @PreAuthorize("hasAnyRole('USER')")
@@ -118,6 +118,26 @@ public class MainController {
         }
     }
 
+    /**
+     * Method logout from every device
+     *
+     * @param request  request
+     * @param response response
+     * @return success or failed
+     */
+    @Operation(summary = "Logout everywhere", description = "Revoke every session of the current user")
+    @PostMapping("/logout-all")
+    public ResponseEntity<ObjectResponse> getLogoutAll(HttpServletRequest request, HttpServletResponse response) {
+        try {
+            boolean checkLogout = userService.logoutAll(request, response);
+            return checkLogout ? ResponseEntity.status(HttpStatus.OK).body(new ObjectResponse("Success", "Logout all sessions successfully", null)) :
+                    ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ObjectResponse("Failed", "Logout all sessions failed", null));
+        } catch (Exception e) {
+            log.error("Error logout all : {}", e.toString());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ObjectResponse("Failed", "Logout all sessions failed", null));
+        }
+    }
+
     /**
      * Method get Token from login Oauth2
      *
@@ -1,8 +1,10 @@
 package com.foodygo.controller;
 
+import com.foodygo.dto.internal.FeedCursor;
 import com.foodygo.dto.request.OrderCreateRequest;
 import com.foodygo.dto.request.OrderUpdateRequest;
 import com.foodygo.dto.response.ObjectResponse;
+import com.foodygo.service.OrderActivityService;
 import com.foodygo.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -28,6 +30,7 @@ import static org.springframework.http.HttpStatus.OK;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderActivityService orderActivityService;
 
     @Value("${application.default-page-size}")
     private int defaultPageSize;
@@ -240,7 +243,136 @@ public class OrderController {
                         ObjectResponse.builder()
                                 .status(OK.toString())
                                 .message("Get all orders by restaurant ID successfully!")
-                                .data(orderService.getAllOrdersByCustomerId(restaurantId, pageable))
+                                .data(orderService.getAllOrdersByRestaurantId(restaurantId, pageable))
+                                .build()
+                );
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Get Order Feed", description = "Retrieve orders newest first, one cursor page at a time. Pass nextCursor of the previous page as after.")
+    @PreAuthorize("hasAnyRole('USER', 'STAFF', 'SELLER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Orders found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> getOrderFeed(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Get order feed successfully!")
+                                .data(orderService.getOrderFeed(FeedCursor.parse(after), limit != null ? limit : defaultPageSize))
+                                .build()
+                );
+    }
+
+    @GetMapping("/employees/{employeeId}/feed")
+    @Operation(summary = "Get Order Feed By Employee", description = "Retrieve orders of the specified employee newest first, one cursor page at a time.")
+    @PreAuthorize("hasAnyRole('STAFF', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Orders found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> getOrderFeedByEmployeeId(
+            @PathVariable Integer employeeId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Get order feed by employee ID successfully!")
+                                .data(orderService.getOrderFeedByEmployeeId(employeeId, FeedCursor.parse(after), limit != null ? limit : defaultPageSize))
+                                .build()
+                );
+    }
+
+    @GetMapping("/customers/{customerId}/feed")
+    @Operation(summary = "Get Order Feed By Customer", description = "Retrieve orders of the specified customer newest first, one cursor page at a time.")
+    @PreAuthorize("hasAnyRole('USER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Orders found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> getOrderFeedByCustomerId(
+            @PathVariable Integer customerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Get order feed by customer ID successfully!")
+                                .data(orderService.getOrderFeedByCustomerId(customerId, FeedCursor.parse(after), limit != null ? limit : defaultPageSize))
+                                .build()
+                );
+    }
+
+    @GetMapping("/restaurants/{restaurantId}/feed")
+    @Operation(summary = "Get Order Feed By Restaurant", description = "Retrieve orders of the specified restaurant newest first, one cursor page at a time.")
+    @PreAuthorize("hasAnyRole('SELLER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Orders found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> getOrderFeedByRestaurantId(
+            @PathVariable Integer restaurantId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Get order feed by restaurant ID successfully!")
+                                .data(orderService.getOrderFeedByRestaurantId(restaurantId, FeedCursor.parse(after), limit != null ? limit : defaultPageSize))
+                                .build()
+                );
+    }
+
+    @GetMapping("/{orderId}/activities/feed")
+    @Operation(summary = "Get Order Activity Feed", description = "Retrieve the status changes of the specified order newest first, one cursor page at a time.")
+    @PreAuthorize("hasAnyRole('USER', 'STAFF', 'SELLER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Order activities found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> getOrderActivityFeed(
+            @PathVariable Integer orderId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Get order activities successfully!")
+                                .data(orderActivityService.getOrderActivityFeed(orderId, FeedCursor.parse(after), limit != null ? limit : defaultPageSize))
                                 .build()
                 );
     }
@@ -2,7 +2,11 @@ package com.foodygo.controller;
 
 import com.foodygo.dto.CategoryDTO;
 import com.foodygo.dto.ProductDTO;
+import com.foodygo.dto.request.ProductAvailabilityRequest;
 import com.foodygo.dto.response.ObjectResponse;
+import com.foodygo.enums.ImportFormat;
+import com.foodygo.service.AvailabilityService;
+import com.foodygo.service.ProductImportService;
 import com.foodygo.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,10 +17,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 import static org.springframework.http.HttpStatus.CREATED;
@@ -29,6 +36,8 @@ import static org.springframework.http.HttpStatus.OK;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final AvailabilityService availabilityService;
 
     @Value("${application.default-page-size}")
     private int defaultPageSize;
@@ -62,6 +71,29 @@ public class ProductController {
                 );
     }
 
+    @GetMapping("/addons")
+    @Operation(summary = "Get the addons of many products",
+            description = "Retrieves the addon sections and items of the given products, keyed by product ID, in two queries whatever the number of products. Meant for rendering a whole menu.")
+    @PreAuthorize("hasAnyRole('USER', 'STAFF', 'SELLER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Data retrieved"),
+            @ApiResponse(responseCode = "400", description = "Missing or too many product IDs"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> getAddonsByProductIds(@RequestParam List<Integer> ids) {
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Get addons of " + ids.size() + " products")
+                                .data(productService.getAddonSectionsByProductIds(ids))
+                                .build()
+                );
+    }
+
     @GetMapping("/{productId}")
     @Operation(summary = "Get product by ID",
             description = "Retrieves a product by its ID.")
@@ -150,6 +182,36 @@ public class ProductController {
                 );
     }
 
+    @Operation(summary = "Import products of a restaurant",
+            description = "Creates or updates products, categories and addons from a streamed text/csv or application/x-ndjson body. "
+                    + "Products are matched by code, the others by name. Invalid rows are skipped and listed in the report.")
+    @PostMapping(value = "/restaurant/{restaurantId}/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('SELLER')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Invalid CSV header or restaurant not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> importProducts(
+            @PathVariable Integer restaurantId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? ImportFormat.CSV : ImportFormat.NDJSON;
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Import products of restaurant " + restaurantId)
+                                .data(productImportService.importProducts(restaurantId, body, format))
+                                .build()
+                );
+    }
+
     @Operation(summary = "Create a new product",
             description = "Creates a new product with the provided details.")
     @PostMapping
@@ -224,6 +286,30 @@ public class ProductController {
                 );
     }
 
+    @PatchMapping("/availability")
+    @Operation(summary = "Set the availability of many products",
+            description = "Marks the given products of a restaurant as available or sold out in one update and pushes the change to the clients following the restaurant. Returns the ids that changed.")
+    @PreAuthorize("hasRole('SELLER')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Product availability updated"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> updateAvailability(@RequestBody ProductAvailabilityRequest request) {
+        List<Integer> productIds = availabilityService.updateProducts(request);
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Switch availability of " + productIds.size() + " products to " + request.getAvailable())
+                                .data(productIds)
+                                .build()
+                );
+    }
+
     @Operation(summary = "Delete a product",
             description = "Deletes a product by its ID.")
     @DeleteMapping("/{productId}")
@@ -1,7 +1,10 @@
 package com.foodygo.controller;
 
 import com.foodygo.dto.RestaurantDTO;
+import com.foodygo.dto.internal.MenuSnapshot;
 import com.foodygo.dto.response.ObjectResponse;
+import com.foodygo.service.AvailabilityService;
+import com.foodygo.service.MenuService;
 import com.foodygo.service.RestaurantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,11 +15,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.OK;
 
 @RestController
@@ -26,6 +35,8 @@ import static org.springframework.http.HttpStatus.OK;
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
+    private final MenuService menuService;
+    private final AvailabilityService availabilityService;
 
     @Value("${application.default-page-size}")
     private int defaultPageSize;
@@ -183,6 +194,55 @@ public class RestaurantController {
                 );
     }
 
+    @GetMapping("/{restaurantId}/menu")
+    @Operation(summary = "Get restaurant menu",
+            description = "Retrieves the categories, products and addons of a restaurant as one precomputed document. "
+                    + "Send the returned ETag as If-None-Match to get 304 Not Modified while the menu is unchanged.")
+    @PreAuthorize("hasAnyRole('USER', 'STAFF', 'SELLER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Menu found"),
+            @ApiResponse(responseCode = "304", description = "Menu not modified"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "400", description = "Restaurant not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<byte[]> getRestaurantMenu(@PathVariable Integer restaurantId,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                    WebRequest webRequest) {
+        MenuSnapshot menu = menuService.getMenu(restaurantId);
+        // the document is stored compressed, so it is sent as is whenever the client accepts gzip
+        boolean gzipped = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = menu.etag(gzipped);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(menu.gzippedBody());
+        }
+        return response.body(menu.body());
+    }
+
+    @GetMapping(value = "/{restaurantId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow product availability of a restaurant",
+            description = "Server-sent event stream with an availability event each time products of the restaurant become available or sold out.")
+    @PreAuthorize("hasAnyRole('USER', 'STAFF', 'SELLER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public SseEmitter followAvailability(@PathVariable Integer restaurantId) {
+        return availabilityService.subscribe(restaurantId);
+    }
+
     @DeleteMapping("/{restaurantId}")
     @Operation(summary = "Delete a restaurant",
             description = "Soft delete a restaurant")
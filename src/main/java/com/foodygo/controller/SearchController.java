@@ -0,0 +1,103 @@
+package com.foodygo.controller;
+
+import com.foodygo.dto.response.ObjectResponse;
+import com.foodygo.enums.SearchType;
+import com.foodygo.service.AutocompleteService;
+import com.foodygo.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import static org.springframework.http.HttpStatus.OK;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/search")
+@Tag(name = "Search")
+public class SearchController {
+
+    private static final int MAX_SIZE = 50;
+
+    private final SearchService searchService;
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping
+    @Operation(summary = "Search restaurants, products and categories",
+            description = "Full-text search by name and description, accent insensitive. The words of the query also match name prefixes, so it can be used for typeahead.")
+    @PreAuthorize("hasAnyRole('USER', 'STAFF', 'SELLER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Data retrieved"),
+            @ApiResponse(responseCode = "400", description = "Empty query"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> search(
+            @RequestParam String q,
+            @RequestParam(required = false) SearchType type,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Search " + q)
+                                .data(searchService.search(q, type, Math.min(size, MAX_SIZE)))
+                                .build()
+                );
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete restaurant, product and category names",
+            description = "Returns the most ordered names with a word starting with the typed prefix, accent insensitive. Names added since the last rebuild of the suggestions are not included yet.")
+    @PreAuthorize("hasAnyRole('USER', 'STAFF', 'SELLER', 'MANAGER', 'ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Data retrieved"),
+            @ApiResponse(responseCode = "400", description = "Size is not positive"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> autocomplete(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Autocomplete " + q)
+                                .data(autocompleteService.complete(q, size))
+                                .build()
+                );
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild the search index",
+            description = "Rebuilds the search index of this instance from the database.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Index rebuilt"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ObjectResponse> rebuild() {
+        searchService.rebuild();
+        return ResponseEntity
+                .status(OK)
+                .body(
+                        ObjectResponse.builder()
+                                .status(OK.toString())
+                                .message("Search index rebuilt")
+                                .build()
+                );
+    }
+}
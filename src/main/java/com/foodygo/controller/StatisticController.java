@@ -1,6 +1,10 @@
 package com.foodygo.controller;
 
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.configuration.SqlStatementCounter;
+import com.foodygo.configuration.UserPrincipalCache;
 import com.foodygo.dto.response.ObjectResponse;
+import com.foodygo.service.CartService;
 import com.foodygo.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -23,6 +28,10 @@ import java.util.List;
 public class StatisticController {
 
     private final UserService userService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final CartService cartService;
+    private final NearCacheManager nearCacheManager;
+    private final SqlStatementCounter sqlStatementCounter;
 
     /**
      * Method count number of user register today
@@ -39,4 +48,53 @@ public class StatisticController {
                 ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ObjectResponse("Fail", "Get all roles failed", 0));
     }
 
+    /**
+     * Method get hit/miss/eviction counters of the authentication principal cache
+     *
+     * @return cache statistics
+     */
+    @Operation(summary = "Get principal cache statistics", description = "Get hit, miss and eviction counters of the authentication principal cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/principal-cache")
+    public ResponseEntity<ObjectResponse> getPrincipalCacheStats() {
+        return ResponseEntity.status(HttpStatus.OK).body(new ObjectResponse("Success", "Get principal cache statistics successfully", userPrincipalCache.getStats()));
+    }
+
+    /**
+     * Method get hit/miss/eviction counters of the catalog near caches
+     *
+     * @return cache statistics, one entry per cache
+     */
+    @Operation(summary = "Get near cache statistics", description = "Get local and redis hit, miss and eviction counters of each catalog near cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/near-cache")
+    public ResponseEntity<ObjectResponse> getNearCacheStats() {
+        return ResponseEntity.status(HttpStatus.OK).body(new ObjectResponse("Success", "Get near cache statistics successfully", nearCacheManager.getStats()));
+    }
+
+    /**
+     * Method estimate the redis memory used by carts from a sample of cart keys
+     *
+     * @param sampleSize number of carts to measure
+     * @return cart count and bytes
+     */
+    @Operation(summary = "Get cart memory usage", description = "Count carts and estimate their redis memory from a sample of keys")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cart-memory")
+    public ResponseEntity<ObjectResponse> getCartMemory(@RequestParam(defaultValue = "100") int sampleSize) {
+        return ResponseEntity.status(HttpStatus.OK).body(new ObjectResponse("Success", "Get cart memory usage successfully", cartService.getMemoryStats(sampleSize)));
+    }
+
+    /**
+     * Method get the number of SQL statements run per endpoint since startup
+     *
+     * @return statement counts, the endpoint with the highest maximum first
+     */
+    @Operation(summary = "Get SQL statement counts", description = "Get the average, maximum and last number of SQL statements run by each endpoint")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/sql-counts")
+    public ResponseEntity<ObjectResponse> getSqlCounts() {
+        return ResponseEntity.status(HttpStatus.OK).body(new ObjectResponse("Success", "Get SQL statement counts successfully", sqlStatementCounter.getStats()));
+    }
+
 }
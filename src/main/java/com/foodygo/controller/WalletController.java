@@ -1,6 +1,8 @@
 package com.foodygo.controller;
 import com.foodygo.dto.request.PaymentRequest;
 import com.foodygo.dto.request.TransferRequest;
+import com.foodygo.dto.internal.FeedCursor;
+import com.foodygo.dto.response.CursorResponse;
 import com.foodygo.dto.response.TransactionHistoryResponse;
 import com.foodygo.dto.response.WalletBalanceResponse;
 import com.foodygo.entity.Deposit;
@@ -15,9 +17,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -30,6 +34,11 @@ public class WalletController {
     private final TransactionService transactionService;
     private final DepositService depositService;
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    @Value("${application.default-page-size}")
+    private int defaultPageSize;
+
     @Operation(summary = "Get Wallet by Customer ID", description = "Fetches the wallet balance and information for a customer based on the customer ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Wallet found and balance retrieved"),
@@ -69,6 +78,19 @@ public class WalletController {
         return ResponseEntity.ok(walletService.getWalletBalance(walletId));
     }
 
+    @Operation(summary = "Get Wallet Ledger Balance", description = "Computes the balance of a wallet from its ledger: the last checkpoint plus the entries posted after it.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ledger balance computed"),
+            @ApiResponse(responseCode = "400", description = "Wallet not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{walletId}/ledger-balance")
+    public ResponseEntity<BigDecimal> getLedgerBalance(@Parameter(description = "ID of the wallet") @PathVariable Integer walletId) {
+        return ResponseEntity.ok(walletService.getLedgerBalance(walletId));
+    }
+
     @Operation(summary = "Delete Wallet", description = "Deletes a wallet based on the wallet ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Transaction history retrieved"),
@@ -88,6 +110,21 @@ public class WalletController {
         return ResponseEntity.ok(transactionService.getTransactionsByWallet(walletId));
     }
 
+    @Operation(summary = "Get Transaction Feed for Wallet", description = "Fetches the transaction history of a wallet newest first, one cursor page at a time.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Transaction history retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{walletId}/transactions/feed")
+    public ResponseEntity<CursorResponse> getTransactionFeed(
+            @Parameter(description = "ID of the wallet") @PathVariable Integer walletId,
+            @Parameter(description = "Cursor <id,time> returned as nextCursor by the previous page") @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(transactionService.getTransactionFeed(walletId, FeedCursor.parse(after), limit != null ? limit : defaultPageSize));
+    }
+
     @Operation(summary = "Get Transaction by ID", description = "Fetches the details of a specific transaction based on the transaction ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Transaction details retrieved"),
@@ -110,8 +147,9 @@ public class WalletController {
     })
     @PostMapping("/{walletId}/pay")
     public ResponseEntity<TransactionHistoryResponse> pay(@Parameter(description = "ID of the wallet") @PathVariable Integer walletId,
-                                                          @Parameter(description = "Payment request details") @RequestBody PaymentRequest request) {
-        return ResponseEntity.ok(transactionService.processPayment(walletId, request.getAmount()));
+                                                          @Parameter(description = "Payment request details") @RequestBody PaymentRequest request,
+                                                          @Parameter(description = "Key that makes retries of this payment safe") @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(transactionService.processPayment(walletId, request.getAmount(), idempotencyKey));
     }
 
     @Operation(summary = "Process Refund to Wallet", description = "Processes a refund to a specific wallet.")
@@ -124,8 +162,9 @@ public class WalletController {
     })
     @PostMapping("/{walletId}/refund")
     public ResponseEntity<TransactionHistoryResponse> refund(@Parameter(description = "ID of the wallet") @PathVariable Integer walletId,
-                                                             @Parameter(description = "Refund request details") @RequestBody PaymentRequest request) {
-        return ResponseEntity.ok(transactionService.processRefund(walletId, request.getAmount()));
+                                                             @Parameter(description = "Refund request details") @RequestBody PaymentRequest request,
+                                                             @Parameter(description = "Key that makes retries of this refund safe") @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(transactionService.processRefund(walletId, request.getAmount(), idempotencyKey));
     }
 
     @Operation(summary = "Transfer Money between Wallets", description = "Transfers money from one wallet to another.")
@@ -137,8 +176,9 @@ public class WalletController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/transfer")
-    public ResponseEntity<TransactionHistoryResponse> transfer(@Parameter(description = "Details of the transfer request") @RequestBody TransferRequest request) {
-        return ResponseEntity.ok(transactionService.transferMoney(request.getFromWalletId(), request.getToWalletId(), request.getAmount()));
+    public ResponseEntity<TransactionHistoryResponse> transfer(@Parameter(description = "Details of the transfer request") @RequestBody TransferRequest request,
+                                                               @Parameter(description = "Key that makes retries of this transfer safe") @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(transactionService.transferMoney(request.getFromWalletId(), request.getToWalletId(), request.getAmount(), idempotencyKey));
     }
 
     @Operation(summary = "Request Deposit", description = "Creates a new deposit request.")
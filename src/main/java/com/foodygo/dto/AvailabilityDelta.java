@@ -0,0 +1,15 @@
+package com.foodygo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sent to the clients following a restaurant when some of its products became available or sold out.
+ */
+public record AvailabilityDelta(
+        Integer restaurantId,
+        List<Integer> productIds,
+        boolean available,
+        LocalDateTime changedAt
+) {
+}
@@ -0,0 +1,26 @@
+package com.foodygo.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Everything a customer needs to render a restaurant: its categories, their products and each product's addon tree.
+ * Products without a category are listed under a category with a {@code null} id.
+ */
+@Builder
+public record MenuDTO(
+        Integer restaurantId,
+        String restaurantName,
+        String restaurantImage,
+        boolean available,
+        List<MenuCategory> categories
+) {
+    public record MenuCategory(
+            Integer id,
+            String name,
+            String description,
+            List<ProductDTO> products
+    ) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.foodygo.dto.internal;
+
+public record AddonItemRow(
+        Integer id,
+        Integer sectionId,
+        String name,
+        Double price,
+        Integer quantity
+) {
+}
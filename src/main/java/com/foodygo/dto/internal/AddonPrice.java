@@ -0,0 +1,9 @@
+package com.foodygo.dto.internal;
+
+public record AddonPrice(
+        Integer id,
+        String name,
+        Double price,
+        Integer productId
+) {
+}
@@ -0,0 +1,10 @@
+package com.foodygo.dto.internal;
+
+public record AddonSectionRow(
+        Integer id,
+        Integer productId,
+        String name,
+        Integer maxChoice,
+        boolean required
+) {
+}
@@ -0,0 +1,41 @@
+package com.foodygo.dto.internal;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in a newest-first feed ordered by {@code (time DESC, id DESC)}, written as {@code id,time} in the {@code after} parameter.
+ * Feeds seek past the cursor instead of using an offset, so every page costs the same and no count query is needed.
+ */
+public record FeedCursor(
+        Integer id,
+        LocalDateTime time
+) {
+    public static final int MAX_LIMIT = 100;
+
+    // MySQL DATETIME cannot hold LocalDateTime.MAX, this sorts after every stored row
+    public static final FeedCursor FIRST = new FeedCursor(Integer.MAX_VALUE, LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+
+    public static FeedCursor parse(String after) {
+        if (after == null || after.isBlank()) {
+            return FIRST;
+        }
+        String[] parts = after.split(",", 2);
+        try {
+            return new FeedCursor(Integer.parseInt(parts[0].trim()), LocalDateTime.parse(parts[1].trim()));
+        } catch (NumberFormatException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor " + after + ", expected <id,time>");
+        }
+    }
+
+    public static Pageable limit(int limit) {
+        return PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    public String encode() {
+        return id + "," + time;
+    }
+}
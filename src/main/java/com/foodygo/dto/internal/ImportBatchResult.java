@@ -0,0 +1,17 @@
+package com.foodygo.dto.internal;
+
+import java.util.List;
+
+/**
+ * What a bulk import batch wrote, so the caches can be invalidated once for the whole batch.
+ */
+public record ImportBatchResult(
+        int created,
+        int updated,
+        List<Integer> productIds,
+        List<Integer> updatedProductIds,
+        List<Integer> categoryIds,
+        List<Integer> createdCategoryIds,
+        List<Integer> updatedAddonItemIds
+) {
+}
@@ -0,0 +1,26 @@
+package com.foodygo.dto.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A serialized menu document, kept gzip compressed, and the entity tag of its uncompressed JSON, a quoted digest.
+ */
+public record MenuSnapshot(String etag, byte[] gzippedBody) {
+
+    // a strong entity tag names one representation, so the gzip encoded body carries a tag of its own
+    public String etag(boolean gzipped) {
+        return gzipped ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+    }
+
+    // for the few clients that do not accept gzip
+    public byte[] body() {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzippedBody))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupted menu snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.foodygo.dto.internal;
+
+import com.foodygo.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat row of an order listing, with the names of its related entities already joined in.
+ */
+public record OrderRow(
+        Integer id,
+        Double shippingFee,
+        Double serviceFee,
+        Double totalPrice,
+        OrderStatus status,
+        LocalDateTime expectedDeliveryTime,
+        LocalDateTime time,
+        String customerPhone,
+        String shipperPhone,
+        String notes,
+        String employeeName,
+        String customerName,
+        String restaurantName,
+        String hubName,
+        LocalDateTime createdAt
+) {
+}
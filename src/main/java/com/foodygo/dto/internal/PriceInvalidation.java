@@ -0,0 +1,9 @@
+package com.foodygo.dto.internal;
+
+import java.util.List;
+
+public record PriceInvalidation(
+        List<Integer> productIds,
+        List<Integer> addonItemIds
+) {
+}
@@ -0,0 +1,7 @@
+package com.foodygo.dto.internal;
+
+public record ProductCategoryId(
+        Integer productId,
+        Integer categoryId
+) {
+}
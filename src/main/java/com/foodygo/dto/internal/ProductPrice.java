@@ -0,0 +1,10 @@
+package com.foodygo.dto.internal;
+
+public record ProductPrice(
+        Integer id,
+        String name,
+        Double price,
+        boolean available,
+        Integer restaurantId
+) {
+}
@@ -0,0 +1,13 @@
+package com.foodygo.dto.internal;
+
+/**
+ * The searchable fields of a restaurant, product or category. For restaurants the description is the address.
+ */
+public record SearchEntry(
+        Integer id,
+        String name,
+        String description,
+        boolean available,
+        Integer restaurantId
+) {
+}
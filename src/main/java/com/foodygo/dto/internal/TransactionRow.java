@@ -0,0 +1,16 @@
+package com.foodygo.dto.internal;
+
+import com.foodygo.enums.TransactionType;
+
+import java.time.LocalDateTime;
+
+public record TransactionRow(
+        Integer id,
+        String description,
+        LocalDateTime time,
+        Double amount,
+        Double remaining,
+        TransactionType type,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,6 @@
+package com.foodygo.dto.internal;
+
+import java.math.BigDecimal;
+
+public record WalletLedgerSum(Integer walletId, BigDecimal amount) {
+}
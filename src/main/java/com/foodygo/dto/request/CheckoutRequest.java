@@ -0,0 +1,20 @@
+package com.foodygo.dto.request;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CheckoutRequest {
+    Integer hubId;
+    Double shippingFee;
+    Double serviceFee;
+    LocalDateTime expectedDeliveryTime;
+    String customerPhone;
+    String notes;
+}
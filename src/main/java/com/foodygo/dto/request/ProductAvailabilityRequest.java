@@ -0,0 +1,12 @@
+package com.foodygo.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ProductAvailabilityRequest {
+    private Integer restaurantId;
+    private List<Integer> productIds;
+    private Boolean available;
+}
@@ -0,0 +1,38 @@
+package com.foodygo.dto.request;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * One product of a bulk import. Products are matched by code within the restaurant, categories, addon sections and
+ * addon items by name; existing rows are updated, missing ones created, and nothing is deleted.
+ */
+@Builder
+public record ProductImportRow(
+        String code,
+        String name,
+        Double price,
+        String description,
+        Double prepareTime,
+        Boolean available,
+        String category,
+        List<AddonSection> addonSections
+) {
+    @Builder
+    public record AddonSection(
+            String name,
+            Integer maxChoice,
+            Boolean required,
+            List<AddonItem> items
+    ) {
+    }
+
+    @Builder
+    public record AddonItem(
+            String name,
+            Double price,
+            Integer quantity
+    ) {
+    }
+}
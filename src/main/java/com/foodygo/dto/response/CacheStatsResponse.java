@@ -0,0 +1,20 @@
+package com.foodygo.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Value
+@NoArgsConstructor(force = true)
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CacheStatsResponse {
+    String name;
+    long size;
+    long localHits;
+    long localMisses;
+    long localEvictions;
+    long remoteHits;
+    long remoteMisses;
+    double hitRatio;
+}
@@ -0,0 +1,17 @@
+package com.foodygo.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Value
+@NoArgsConstructor(force = true)
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CartMemoryResponse {
+    long cartCount;
+    long sampledCarts;
+    long sampledBytes;
+    long averageBytesPerCart;
+    long estimatedTotalBytes;
+}
@@ -0,0 +1,28 @@
+package com.foodygo.dto.response;
+
+import com.foodygo.dto.internal.FeedCursor;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Value
+@NoArgsConstructor(force = true)
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CursorResponse {
+    Object data;
+    int size;
+    boolean hasNext;
+    String nextCursor; // value of after for the next page, null on the last page
+
+    public static CursorResponse of(List<?> data, boolean hasNext, FeedCursor last) {
+        return CursorResponse.builder()
+                .data(data)
+                .size(data.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext && last != null ? last.encode() : null)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.foodygo.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Value
+@NoArgsConstructor(force = true)
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProductImportResponse {
+    Integer restaurantId;
+    int totalRows;
+    int created;
+    int updated;
+    int failed;
+    List<RowError> errors;
+    boolean errorsTruncated;
+
+    @Value
+    @NoArgsConstructor(force = true)
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class RowError {
+        int line;
+        String code;
+        String message;
+    }
+}
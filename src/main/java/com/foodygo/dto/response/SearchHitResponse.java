@@ -0,0 +1,20 @@
+package com.foodygo.dto.response;
+
+import com.foodygo.enums.SearchType;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Value
+@NoArgsConstructor(force = true)
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SearchHitResponse {
+    SearchType type;
+    Integer id;
+    String name;
+    String description;
+    boolean available;
+    Integer restaurantId;
+    float score;
+}
@@ -0,0 +1,18 @@
+package com.foodygo.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Value
+@NoArgsConstructor(force = true)
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SqlCountResponse {
+    String endpoint;
+    long requests;
+    long statements;
+    double averageStatements;
+    int maxStatements;
+    int lastStatements;
+}
@@ -0,0 +1,17 @@
+package com.foodygo.dto.response;
+
+import com.foodygo.enums.SearchType;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Value
+@NoArgsConstructor(force = true)
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SuggestionResponse {
+    SearchType type;
+    Integer id;
+    String name;
+    long weight;
+}
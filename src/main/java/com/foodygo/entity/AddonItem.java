@@ -24,7 +24,7 @@ public class AddonItem extends BaseEntity {
 
     Integer quantity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     AddonSection section;
 
 }
@@ -27,7 +27,7 @@ public class AddonSection extends BaseEntity {
     @Builder.Default
     boolean required = false;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Product product;
 
     @OneToMany(mappedBy = "section")
@@ -0,0 +1,33 @@
+package com.foodygo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of a wallet over all ledger entries up to and including {@code lastEntryId}.
+ * The current balance is the checkpoint plus the sum of the wallet's entries after it.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "balance-checkpoint")
+public class BalanceCheckpoint {
+
+    @Id
+    Integer walletId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    BigDecimal balance;
+
+    @Column(nullable = false)
+    Integer lastEntryId;
+
+    LocalDateTime checkpointedAt;
+}
@@ -27,7 +27,7 @@ public class Building extends BaseEntity {
     @Column(name = "description", columnDefinition = "VARCHAR(1000)")
     String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Hub hub;
 
     @OneToMany(mappedBy = "building")
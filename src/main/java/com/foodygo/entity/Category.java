@@ -1,5 +1,6 @@
 package com.foodygo.entity;
 
+import com.foodygo.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -7,6 +8,7 @@ import lombok.experimental.FieldDefaults;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Data
 @EqualsAndHashCode(callSuper = true)
 @AllArgsConstructor
@@ -27,6 +29,6 @@ public class Category extends BaseEntity {
     @OneToMany(mappedBy = "category")
     List<Product> products;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Restaurant restaurant;
 }
@@ -24,10 +24,10 @@ public class Customer extends BaseEntity {
     @Column(name = "image", columnDefinition = "VARCHAR(1000)")
     String image;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Building building;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JsonBackReference
     User user;
 
@@ -33,12 +33,12 @@ public class Deposit extends BaseEntity {
 
     Double remaining;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Wallet wallet;
 
     @OneToMany(mappedBy = "deposit")
     List<Transaction> transactions;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Customer customer;
 }
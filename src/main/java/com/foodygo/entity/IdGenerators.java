@@ -0,0 +1,16 @@
+package com.foodygo.entity;
+
+/**
+ * Pooled table generator shared by the order path entities. Ids are handed out in blocks of {@link #ALLOCATION_SIZE},
+ * so Hibernate knows them before the insert and can batch it, unlike IDENTITY columns.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generator";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
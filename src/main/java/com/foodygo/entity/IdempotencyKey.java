@@ -0,0 +1,55 @@
+package com.foodygo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Client supplied key of a wallet operation, unique per wallet that starts the operation.
+ * The key is claimed in the same database transaction as the balance change, so a retried request either finds
+ * the transaction it already produced or, if the first attempt rolled back, runs again.
+ * The hash of the request is kept with the key, a replay that carries a different request is rejected.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@IdClass(IdempotencyKey.Key.class)
+@Table(name = "idempotency-key")
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "wallet_id")
+    Integer walletId;
+
+    @Id
+    @Column(length = 100)
+    String id;
+
+    @Column(nullable = false, length = 30)
+    String operation;
+
+    // null on keys claimed before hashes were stored
+    @Column(name = "request_hash", length = 64)
+    String requestHash;
+
+    @Column(name = "transaction_id")
+    Integer transactionId;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Key implements Serializable {
+        Integer walletId;
+        String id;
+    }
+}
@@ -0,0 +1,45 @@
+package com.foodygo.entity;
+
+import com.foodygo.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One side of a money movement. Every movement is posted as a debit (negative amount) and a credit (positive amount)
+ * that sum to zero; a {@code null} wallet is the platform clearing account money enters and leaves through.
+ * Entries are never updated or deleted, balances are derived from them, see {@link BalanceCheckpoint}.
+ * Ids use IDENTITY so they follow insertion order, which the incremental checkpoint relies on.
+ */
+@Data
+@Entity
+@Builder
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "ledger-entry")
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    Transaction transaction;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    Wallet wallet;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    TransactionType type;
+
+    LocalDateTime time;
+}
@@ -0,0 +1,32 @@
+package com.foodygo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single row that serializes checkpoint runs across instances. Entries up to {@code lastEntryId} are folded into the
+ * {@link BalanceCheckpoint}s; {@code pendingEntryId} is the highest entry id seen at {@code pendingAt}, the cutoff of a later run.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "ledger-watermark")
+public class LedgerWatermark {
+
+    @Id
+    Integer id;
+
+    @Column(nullable = false)
+    Integer lastEntryId;
+
+    @Column(nullable = false)
+    Integer pendingEntryId;
+
+    LocalDateTime pendingAt;
+}
@@ -31,9 +31,9 @@ public class OrderActivity extends BaseEntity {
 
     String image;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Order order;
 }
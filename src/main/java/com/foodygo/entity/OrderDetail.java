@@ -15,7 +15,9 @@ import lombok.experimental.FieldDefaults;
 public class OrderDetail extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_detail_id")
+    @TableGenerator(name = "order_detail_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "order-detail", allocationSize = IdGenerators.ALLOCATION_SIZE)
     Integer id;
 
     Integer quantity;
@@ -24,9 +26,9 @@ public class OrderDetail extends BaseEntity {
 
     String addonItems;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Order order;
 }
@@ -1,5 +1,6 @@
 package com.foodygo.entity;
 
+import com.foodygo.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Data
 @EqualsAndHashCode(callSuper = true)
 @AllArgsConstructor
@@ -34,10 +36,10 @@ public class Product extends BaseEntity {
     @Builder.Default
     boolean available = true;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Restaurant restaurant;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Category category;
 
     @OneToMany(mappedBy = "product")
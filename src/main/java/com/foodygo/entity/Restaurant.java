@@ -1,5 +1,6 @@
 package com.foodygo.entity;
 
+import com.foodygo.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -7,6 +8,7 @@ import lombok.experimental.FieldDefaults;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Data
 @EqualsAndHashCode(callSuper = true)
 @AllArgsConstructor
@@ -30,7 +32,7 @@ public class Restaurant extends BaseEntity {
 
     String image;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     User owner;
 
     @OneToMany(mappedBy = "restaurant")
@@ -32,12 +32,12 @@ public class Transaction extends BaseEntity {
     @Enumerated(EnumType.STRING)
     TransactionType type;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Order order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Wallet wallet;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Deposit deposit;
 }
@@ -42,16 +42,11 @@ public class User extends BaseEntity {
     @Column(name = "non_locked", nullable = false, columnDefinition = "BOOLEAN DEFAULT true")
     boolean nonLocked;
 
-    @Column(name = "access_token", columnDefinition = "TEXT")
-    String accessToken;
-
-    @Column(name = "refresh_token", columnDefinition = "TEXT")
-    String refreshToken;
-
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id")
     Role role;
 
+    // without bytecode enhancement Hibernate cannot proxy the inverse side of a one-to-one, so these two are still read with the user
     @OneToOne(mappedBy = "user")
     Customer customer;
 
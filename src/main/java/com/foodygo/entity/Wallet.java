@@ -26,10 +26,10 @@ public class Wallet extends BaseEntity {
     @Enumerated(EnumType.STRING)
     WalletType walletType;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Restaurant restaurant;
 
     @OneToMany(mappedBy = "wallet")
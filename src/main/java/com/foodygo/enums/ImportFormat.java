@@ -0,0 +1,6 @@
+package com.foodygo.enums;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,7 @@
+package com.foodygo.enums;
+
+public enum SearchType {
+    RESTAURANT,
+    PRODUCT,
+    CATEGORY
+}
@@ -0,0 +1,12 @@
+package com.foodygo.exception;
+
+import lombok.Data;
+
+@Data
+public class IdempotencyConflictException extends RuntimeException {
+    private String message;
+
+    public IdempotencyConflictException(String message) {
+        this.message = message;
+    }
+}
@@ -58,8 +58,6 @@ public class DatabaseInit {
 
                 User user = User.builder()
                         .fullName("User")
-                        .accessToken(null)
-                        .refreshToken(null)
                         .email("user@gmail.com")
                         .password(bCryptPasswordEncoder.encode("123456"))
                         .enabled(true)
@@ -70,8 +68,6 @@ public class DatabaseInit {
 
                 User admin = User.builder()
                         .fullName("Admin")
-                        .accessToken(null)
-                        .refreshToken(null)
                         .email("admin@gmail.com")
                         .password(bCryptPasswordEncoder.encode("123456"))
                         .enabled(true)
@@ -82,8 +78,6 @@ public class DatabaseInit {
 
                 User manager = User.builder()
                         .fullName("Manager")
-                        .accessToken(null)
-                        .refreshToken(null)
                         .email("manager@gmail.com")
                         .password(bCryptPasswordEncoder.encode("123456"))
                         .enabled(true)
@@ -94,8 +88,6 @@ public class DatabaseInit {
 
                 User staff = User.builder()
                         .fullName("HOANG SON HA")
-                        .accessToken(null)
-                        .refreshToken(null)
                         .email("staff@gmail.com")
                         .password(bCryptPasswordEncoder.encode("123456"))
                         .enabled(true)
@@ -106,8 +98,6 @@ public class DatabaseInit {
 
                 User seller = User.builder()
                         .fullName("Seller")
-                        .accessToken(null)
-                        .refreshToken(null)
                         .email("seller@gmail.com")
                         .password(bCryptPasswordEncoder.encode("123456"))
                         .enabled(true)
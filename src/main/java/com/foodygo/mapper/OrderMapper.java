@@ -1,5 +1,6 @@
 package com.foodygo.mapper;
 
+import com.foodygo.dto.internal.OrderRow;
 import com.foodygo.dto.request.OrderCreateRequest;
 import com.foodygo.dto.request.OrderUpdateRequest;
 import com.foodygo.dto.response.OrderDetailResponse;
@@ -28,4 +29,7 @@ public interface OrderMapper {
     @Mapping(source = "restaurant.name", target = "restaurantName")
     @Mapping(source = "hub.name", target = "hubName")
     OrderResponse toDto(Order order);
+
+    @Mapping(target = "orderDetails", ignore = true)
+    OrderResponse toDto(OrderRow orderRow);
 }
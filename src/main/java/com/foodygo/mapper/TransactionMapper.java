@@ -1,6 +1,7 @@
 package com.foodygo.mapper;
 
 
+import com.foodygo.dto.internal.TransactionRow;
 import com.foodygo.dto.response.TransactionHistoryResponse;
 import com.foodygo.entity.Transaction;
 import org.mapstruct.Mapper;
@@ -18,4 +19,6 @@ public interface TransactionMapper {
 
     TransactionHistoryResponse toDTO(Transaction transaction);
 
+    TransactionHistoryResponse toDTO(TransactionRow transactionRow);
+
 }
@@ -1,11 +1,16 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.AddonItemRow;
+import com.foodygo.dto.internal.AddonPrice;
 import com.foodygo.entity.AddonItem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +19,15 @@ public interface AddonItemRepository extends JpaRepository<AddonItem, Integer> {
     List<AddonItem> findBySectionIdAndDeletedFalse(Integer sectionId);
     Page<AddonItem> findBySectionIdAndDeletedFalse(Integer sectionId, Pageable pageable);
     Optional<AddonItem> findByIdAndDeletedFalse(Integer id);
+
+    // filtered on the products rather than on section ids, so it does not have to wait for the sections query
+    @Query("SELECT new com.foodygo.dto.internal.AddonItemRow(a.id, s.id, a.name, a.price, a.quantity) FROM AddonItem a JOIN a.section s "
+            + "WHERE s.product.id IN :productIds AND s.deleted = false AND a.deleted = false ORDER BY a.id")
+    List<AddonItemRow> findRowsByProductIdIn(@Param("productIds") Collection<Integer> productIds);
+
+    @Query("SELECT new com.foodygo.dto.internal.AddonPrice(a.id, a.name, a.price, s.product.id) FROM AddonItem a LEFT JOIN a.section s WHERE a.deleted = false")
+    List<AddonPrice> findAllPrices();
+
+    @Query("SELECT new com.foodygo.dto.internal.AddonPrice(a.id, a.name, a.price, s.product.id) FROM AddonItem a LEFT JOIN a.section s WHERE a.id = ?1 AND a.deleted = false")
+    Optional<AddonPrice> findPriceById(Integer id);
 }
@@ -1,11 +1,15 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.AddonSectionRow;
 import com.foodygo.entity.AddonSection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,8 @@ public interface AddonSectionRepository extends JpaRepository<AddonSection, Inte
     List<AddonSection> findByProductIdAndDeletedFalse(Integer productId);
     Page<AddonSection> findByProductIdAndDeletedFalse(Integer productId, Pageable pageable);
     Optional<AddonSection> findByIdAndDeletedFalse(Integer id);
+
+    @Query("SELECT new com.foodygo.dto.internal.AddonSectionRow(s.id, s.product.id, s.name, s.maxChoice, s.required) FROM AddonSection s "
+            + "WHERE s.product.id IN :productIds AND s.deleted = false ORDER BY s.id")
+    List<AddonSectionRow> findRowsByProductIdIn(@Param("productIds") Collection<Integer> productIds);
 }
@@ -0,0 +1,22 @@
+package com.foodygo.repository;
+
+import com.foodygo.entity.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Integer> {
+
+    // only advances a checkpoint that has not seen the range yet, so a range can never be folded in twice
+    @Modifying
+    @Query("UPDATE BalanceCheckpoint c SET c.balance = c.balance + :amount, c.lastEntryId = :upToId, c.checkpointedAt = :time "
+            + "WHERE c.walletId = :walletId AND c.lastEntryId <= :afterId")
+    int advance(@Param("walletId") Integer walletId, @Param("amount") BigDecimal amount, @Param("afterId") Integer afterId,
+                @Param("upToId") Integer upToId, @Param("time") LocalDateTime time);
+}
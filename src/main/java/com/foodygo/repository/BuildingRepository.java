@@ -4,6 +4,7 @@ import com.foodygo.entity.Building;
 import com.foodygo.entity.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,6 +16,7 @@ import java.util.List;
 @Repository
 @Transactional
 public interface BuildingRepository extends JpaRepository<Building, Integer> {
+    @EntityGraph(attributePaths = "hub")
     Building findBuildingById(int id);
 
     Building findBuildingByName(String name);
@@ -23,8 +25,10 @@ public interface BuildingRepository extends JpaRepository<Building, Integer> {
     @Query("update Building set deleted = false where id = ?1")
     void unDeleted(int buildingId);
 
+    @EntityGraph(attributePaths = "hub")
     Page<Building> findAllByDeletedFalse(Pageable pageable);
 
+    @EntityGraph(attributePaths = "hub")
     Page<Building> findAllByHub_Id(Integer hubId, Pageable pageable);
 
 }
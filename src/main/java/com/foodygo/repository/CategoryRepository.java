@@ -1,11 +1,16 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.SearchEntry;
 import com.foodygo.entity.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,11 +22,23 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
     Optional<Category> findByNameIgnoreCaseAndDeletedFalse(String name);
 
     List<Category> findByNameContainingIgnoreCase(String name);
+
+    @EntityGraph(attributePaths = "restaurant")
     Page<Category> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
     List<Category> findByRestaurantIdAndDeletedFalse(Integer restaurantId);
+
+    @EntityGraph(attributePaths = "restaurant")
     Page<Category> findByRestaurantIdAndDeletedFalse(Integer restaurantId, Pageable pageable);
 
     List<Category> findByDeletedFalse();
+
+    @EntityGraph(attributePaths = "restaurant")
     Page<Category> findByDeletedFalse(Pageable pageable);
+
+    @Query("SELECT new com.foodygo.dto.internal.SearchEntry(c.id, c.name, c.description, true, r.id) FROM Category c LEFT JOIN c.restaurant r WHERE c.deleted = false")
+    List<SearchEntry> findAllSearchEntries();
+
+    @Query("SELECT new com.foodygo.dto.internal.SearchEntry(c.id, c.name, c.description, true, r.id) FROM Category c LEFT JOIN c.restaurant r WHERE c.id IN :ids AND c.deleted = false")
+    List<SearchEntry> findSearchEntriesByIdIn(@Param("ids") Collection<Integer> ids);
 }
@@ -1,17 +1,35 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.CheckoutCustomer;
 import com.foodygo.entity.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Integer> {
 
+    // everything CustomerDTO embeds, plus the wallet, which as the inverse side of a one-to-one would otherwise cost a query per customer
+    @EntityGraph(attributePaths = {"user", "user.role", "building", "building.hub", "wallet"})
     Customer findCustomerById(Integer id);
 
+    @EntityGraph(attributePaths = {"user", "user.role", "building", "building.hub", "wallet"})
     Page<Customer> findAllByBuildingId(Integer building_id, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"user", "user.role", "building", "building.hub", "wallet"})
     Page<Customer> findAllByDeletedFalse(Pageable pageable);
+
+    // the seed data reads the user of every customer outside of any session
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Customer> findAll();
+
+    @Query("SELECT new com.foodygo.dto.internal.CheckoutCustomer(c.id, u.fullName) FROM Customer c JOIN c.user u WHERE u.userID = ?1 AND c.deleted = false")
+    Optional<CheckoutCustomer> findCheckoutCustomerByUserId(Integer userId);
 }
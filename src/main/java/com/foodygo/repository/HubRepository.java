@@ -13,6 +13,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 @Transactional
@@ -27,4 +28,7 @@ public interface HubRepository extends JpaRepository<Hub, Integer> {
     Hub findHubByName(String name);
 
     Page<Hub> findAllByDeletedFalse(Pageable pageable);
+
+    @Query("SELECT h.name FROM Hub h WHERE h.id = ?1 AND h.deleted = false")
+    Optional<String> findNameById(Integer id);
 }
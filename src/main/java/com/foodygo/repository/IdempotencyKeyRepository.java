@@ -0,0 +1,23 @@
+package com.foodygo.repository;
+
+import com.foodygo.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKey.Key> {
+
+    // returns 0 if the key exists; waits on a concurrent uncommitted claim of the same key until that transaction ends
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO `idempotency-key` (wallet_id, id, operation, request_hash, created_at) "
+            + "VALUES (:walletId, :id, :operation, :requestHash, NOW())", nativeQuery = true)
+    int claim(@Param("walletId") Integer walletId, @Param("id") String id, @Param("operation") String operation,
+              @Param("requestHash") String requestHash);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.transactionId = :transactionId WHERE k.walletId = :walletId AND k.id = :id")
+    void complete(@Param("walletId") Integer walletId, @Param("id") String id, @Param("transactionId") Integer transactionId);
+}
@@ -0,0 +1,25 @@
+package com.foodygo.repository;
+
+import com.foodygo.dto.internal.WalletLedgerSum;
+import com.foodygo.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Integer> {
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e WHERE e.wallet.id = :walletId AND e.id > :afterId")
+    BigDecimal sumByWalletAfter(@Param("walletId") Integer walletId, @Param("afterId") Integer afterId);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e WHERE e.id > :afterId AND e.id <= :upToId")
+    BigDecimal sumBetween(@Param("afterId") Integer afterId, @Param("upToId") Integer upToId);
+
+    @Query("SELECT new com.foodygo.dto.internal.WalletLedgerSum(e.wallet.id, SUM(e.amount)) FROM LedgerEntry e "
+            + "WHERE e.id > :afterId AND e.id <= :upToId AND e.wallet IS NOT NULL GROUP BY e.wallet.id")
+    List<WalletLedgerSum> sumByWalletBetween(@Param("afterId") Integer afterId, @Param("upToId") Integer upToId);
+}
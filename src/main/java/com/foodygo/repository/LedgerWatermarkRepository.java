@@ -0,0 +1,28 @@
+package com.foodygo.repository;
+
+import com.foodygo.entity.LedgerWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LedgerWatermarkRepository extends JpaRepository<LedgerWatermark, Integer> {
+
+    // empty while another instance holds the row, that instance is running the checkpoint
+    @Query(value = "SELECT * FROM `ledger-watermark` WHERE id = 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<LedgerWatermark> lockIfFree();
+
+    // measured on the database clock, the one every instance shares
+    @Query(value = "SELECT TIMESTAMPDIFF(SECOND, pending_at, NOW()) FROM `ledger-watermark` WHERE id = 1", nativeQuery = true)
+    Long findPendingAgeSeconds();
+
+    // the highest entry id right now becomes the cutoff of a later run
+    @Modifying
+    @Query(value = "UPDATE `ledger-watermark` SET last_entry_id = :lastEntryId, "
+            + "pending_entry_id = (SELECT COALESCE(MAX(e.id), 0) FROM `ledger-entry` e), pending_at = NOW() WHERE id = 1", nativeQuery = true)
+    void advance(@Param("lastEntryId") Integer lastEntryId);
+}
@@ -1,20 +1,30 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.response.OrderActivityResponse;
 import com.foodygo.entity.OrderActivity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderActivityRepository extends JpaRepository<OrderActivity, Integer> {
+    @EntityGraph(attributePaths = "user")
     Page<OrderActivity> findByOrderIdOrderByTimeDesc(Integer orderId, Pageable pageable);
 
+    @Query("SELECT new com.foodygo.dto.response.OrderActivityResponse(a.id, a.fromStatus, a.toStatus, a.time, a.image, u.fullName, u.userID, a.order.id) "
+            + "FROM OrderActivity a LEFT JOIN a.user u WHERE a.order.id = :orderId AND (a.time < :time OR (a.time = :time AND a.id < :id)) "
+            + "ORDER BY a.time DESC, a.id DESC")
+    Slice<OrderActivityResponse> findFeedByOrderId(@Param("orderId") Integer orderId, @Param("time") LocalDateTime time, @Param("id") Integer id, Pageable pageable);
+
     @Modifying
     @Query("DELETE FROM OrderActivity oa WHERE oa.order.id = :orderId")
     void deleteByOrderId(@Param("orderId") Integer orderId);
@@ -1,8 +1,11 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.ItemCount;
+import com.foodygo.dto.response.OrderDetailResponse;
 import com.foodygo.entity.OrderDetail;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,9 +16,23 @@ import java.util.List;
 
 @Repository
 public interface OrderDetailRepository extends JpaRepository<OrderDetail, Integer> {
+    @EntityGraph(attributePaths = "product")
     Page<OrderDetail> findByOrderId(int orderId, Pageable pageable);
 
     @Modifying
     @Query("DELETE FROM OrderDetail od WHERE od.order.id = :orderId")
     void deleteByOrderId(@Param("orderId") Integer orderId);
+
+    @Query("SELECT new com.foodygo.dto.response.OrderDetailResponse(od.id, od.order.id, od.quantity, od.price, od.addonItems, p.name) "
+            + "FROM OrderDetail od LEFT JOIN od.product p WHERE od.order.id IN :orderIds")
+    List<OrderDetailResponse> findResponsesByOrderIds(@Param("orderIds") List<Integer> orderIds);
+
+    @Query("SELECT new com.foodygo.dto.internal.ItemCount(p.id, COUNT(od)) FROM OrderDetail od JOIN od.product p GROUP BY p.id")
+    List<ItemCount> countByProduct();
+
+    @Query("SELECT new com.foodygo.dto.internal.ItemCount(c.id, COUNT(od)) FROM OrderDetail od JOIN od.product p JOIN p.category c GROUP BY c.id")
+    List<ItemCount> countByCategory();
+
+    @Query("SELECT new com.foodygo.dto.internal.ItemCount(r.id, COUNT(od)) FROM OrderDetail od JOIN od.order o JOIN o.restaurant r GROUP BY r.id")
+    List<ItemCount> countByRestaurant();
 }
@@ -1,21 +1,50 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.OrderRow;
 import com.foodygo.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
-    Page<Order> findByCustomerId(Integer customerId, Pageable pageable);
+    String ORDER_ROW = "SELECT new com.foodygo.dto.internal.OrderRow(o.id, o.shippingFee, o.serviceFee, o.totalPrice, o.status, "
+            + "o.expectedDeliveryTime, o.time, o.customerPhone, o.shipperPhone, o.notes, e.fullName, cu.fullName, r.name, h.name, o.createdAt) "
+            + "FROM orders o LEFT JOIN o.employee e LEFT JOIN o.customer c LEFT JOIN c.user cu LEFT JOIN o.restaurant r LEFT JOIN o.hub h ";
+    // keyset condition of the newest-first feeds, backed by the (filter column, created_at, id) indexes of V1__secondary_indexes
+    String AFTER = "(o.createdAt < :time OR (o.createdAt = :time AND o.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY o.createdAt DESC, o.id DESC";
 
-    @Query("SELECT o FROM orders o WHERE o.employee.userID = :employeeId")
-    Page<Order> findOrdersByEmployeeId(@Param("employeeId") Integer employeeId, Pageable pageable);
+    @Query(value = ORDER_ROW, countQuery = "SELECT COUNT(o) FROM orders o")
+    Page<OrderRow> findAllRows(Pageable pageable);
 
-    Page<Order> findByRestaurantId(Integer restaurantId, Pageable pageable);
+    @Query(value = ORDER_ROW + "WHERE c.id = :customerId",
+            countQuery = "SELECT COUNT(o) FROM orders o WHERE o.customer.id = :customerId")
+    Page<OrderRow> findRowsByCustomerId(@Param("customerId") Integer customerId, Pageable pageable);
+
+    @Query(value = ORDER_ROW + "WHERE e.userID = :employeeId",
+            countQuery = "SELECT COUNT(o) FROM orders o WHERE o.employee.userID = :employeeId")
+    Page<OrderRow> findRowsByEmployeeId(@Param("employeeId") Integer employeeId, Pageable pageable);
+
+    @Query(value = ORDER_ROW + "WHERE r.id = :restaurantId",
+            countQuery = "SELECT COUNT(o) FROM orders o WHERE o.restaurant.id = :restaurantId")
+    Page<OrderRow> findRowsByRestaurantId(@Param("restaurantId") Integer restaurantId, Pageable pageable);
+
+    @Query(ORDER_ROW + "WHERE " + AFTER + NEWEST_FIRST)
+    Slice<OrderRow> findFeed(@Param("time") LocalDateTime time, @Param("id") Integer id, Pageable pageable);
+
+    @Query(ORDER_ROW + "WHERE c.id = :customerId AND " + AFTER + NEWEST_FIRST)
+    Slice<OrderRow> findFeedByCustomerId(@Param("customerId") Integer customerId, @Param("time") LocalDateTime time, @Param("id") Integer id, Pageable pageable);
+
+    @Query(ORDER_ROW + "WHERE e.userID = :employeeId AND " + AFTER + NEWEST_FIRST)
+    Slice<OrderRow> findFeedByEmployeeId(@Param("employeeId") Integer employeeId, @Param("time") LocalDateTime time, @Param("id") Integer id, Pageable pageable);
+
+    @Query(ORDER_ROW + "WHERE r.id = :restaurantId AND " + AFTER + NEWEST_FIRST)
+    Slice<OrderRow> findFeedByRestaurantId(@Param("restaurantId") Integer restaurantId, @Param("time") LocalDateTime time, @Param("id") Integer id, Pageable pageable);
 }
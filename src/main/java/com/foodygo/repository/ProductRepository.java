@@ -1,11 +1,19 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.ProductCategoryId;
+import com.foodygo.dto.internal.ProductPrice;
+import com.foodygo.dto.internal.SearchEntry;
 import com.foodygo.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +29,26 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
 
     List<Product> findByCategoryIdAndDeletedFalse(Integer categoryId);
     Page<Product> findByCategoryIdAndDeletedFalse(Integer categoryId, Pageable pageable);
+
+    @Query("SELECT new com.foodygo.dto.internal.ProductPrice(p.id, p.name, p.price, p.available, r.id) FROM Product p LEFT JOIN p.restaurant r WHERE p.deleted = false")
+    List<ProductPrice> findAllPrices();
+
+    @Query("SELECT new com.foodygo.dto.internal.ProductPrice(p.id, p.name, p.price, p.available, r.id) FROM Product p LEFT JOIN p.restaurant r WHERE p.id = ?1 AND p.deleted = false")
+    Optional<ProductPrice> findPriceById(Integer id);
+
+    @Query("SELECT new com.foodygo.dto.internal.SearchEntry(p.id, p.name, p.description, p.available, r.id) FROM Product p LEFT JOIN p.restaurant r WHERE p.deleted = false")
+    List<SearchEntry> findAllSearchEntries();
+
+    @Query("SELECT new com.foodygo.dto.internal.SearchEntry(p.id, p.name, p.description, p.available, r.id) FROM Product p LEFT JOIN p.restaurant r WHERE p.id IN :ids AND p.deleted = false")
+    List<SearchEntry> findSearchEntriesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // the products of the restaurant among ids whose availability differs from the given one
+    @Query("SELECT new com.foodygo.dto.internal.ProductCategoryId(p.id, c.id) FROM Product p LEFT JOIN p.category c "
+            + "WHERE p.restaurant.id = :restaurantId AND p.id IN :ids AND p.deleted = false AND p.available <> :available")
+    List<ProductCategoryId> findToSwitch(@Param("restaurantId") Integer restaurantId, @Param("ids") Collection<Integer> ids,
+                                         @Param("available") boolean available);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.available = :available, p.updatedAt = :now WHERE p.id IN :ids")
+    int updateAvailability(@Param("ids") Collection<Integer> ids, @Param("available") boolean available, @Param("now") LocalDateTime now);
 }
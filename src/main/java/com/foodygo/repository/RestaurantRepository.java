@@ -1,11 +1,15 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.SearchEntry;
 import com.foodygo.entity.Restaurant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +22,10 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Integer>
 
     List<Restaurant> findByNameContainingIgnoreCase(String name);
     Page<Restaurant> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    @Query("SELECT new com.foodygo.dto.internal.SearchEntry(r.id, r.name, r.address, r.available, r.id) FROM Restaurant r WHERE r.deleted = false")
+    List<SearchEntry> findAllSearchEntries();
+
+    @Query("SELECT new com.foodygo.dto.internal.SearchEntry(r.id, r.name, r.address, r.available, r.id) FROM Restaurant r WHERE r.id IN :ids AND r.deleted = false")
+    List<SearchEntry> findSearchEntriesByIdIn(@Param("ids") Collection<Integer> ids);
 }
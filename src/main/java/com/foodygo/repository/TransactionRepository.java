@@ -1,14 +1,18 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.internal.TransactionRow;
 import com.foodygo.entity.Transaction;
 import com.foodygo.entity.Wallet;
 import com.foodygo.enums.TransactionType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -21,4 +25,10 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
     void deleteByOrderId(@Param("orderId") Integer orderId);
 
     List<Transaction> findByWalletIdAndType(Integer walletId, TransactionType type);
+
+    // keyed on created_at rather than time, which older rows left NULL; backed by idx_transaction_wallet_created of V3
+    @Query("SELECT new com.foodygo.dto.internal.TransactionRow(t.id, t.description, t.time, t.amount, t.remaining, t.type, t.createdAt) "
+            + "FROM Transaction t WHERE t.wallet.id = :walletId AND (t.createdAt < :time OR (t.createdAt = :time AND t.id < :id)) "
+            + "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TransactionRow> findFeedByWalletId(@Param("walletId") Integer walletId, @Param("time") LocalDateTime time, @Param("id") Integer id, Pageable pageable);
 }
@@ -1,7 +1,11 @@
 package com.foodygo.repository;
 
+import com.foodygo.dto.response.WalletBalanceResponse;
 import com.foodygo.entity.Wallet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +15,25 @@ import java.util.Optional;
 public interface WalletRepository extends JpaRepository<Wallet, Integer> {
     Optional<Wallet> findByCustomerId(Integer customerId);
     Optional<Wallet> findByRestaurantId(Integer restaurantId);
+
+    // balance changes are single conditional updates, the row lock they take is held until the surrounding transaction ends
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = w.balance - :amount WHERE w.id = :id AND w.balance >= :amount")
+    int debit(@Param("id") Integer id, @Param("amount") double amount);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = COALESCE(w.balance, 0) + :amount WHERE w.id = :id")
+    int credit(@Param("id") Integer id, @Param("amount") double amount);
+
+    @Query("SELECT new com.foodygo.dto.response.WalletBalanceResponse(w.id, w.balance) FROM Wallet w WHERE w.id = :id")
+    Optional<WalletBalanceResponse> findBalanceResponseById(@Param("id") Integer id);
+
+    @Query("SELECT new com.foodygo.dto.response.WalletBalanceResponse(w.id, w.balance) FROM Wallet w WHERE w.customer.id = :customerId")
+    Optional<WalletBalanceResponse> findBalanceResponseByCustomerId(@Param("customerId") Integer customerId);
+
+    @Query("SELECT new com.foodygo.dto.response.WalletBalanceResponse(w.id, w.balance) FROM Wallet w WHERE w.restaurant.id = :restaurantId")
+    Optional<WalletBalanceResponse> findBalanceResponseByRestaurantId(@Param("restaurantId") Integer restaurantId);
+
+    @Query("SELECT w.balance FROM Wallet w WHERE w.id = :id")
+    Double findBalanceById(@Param("id") Integer id);
 }
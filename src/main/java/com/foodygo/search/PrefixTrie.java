@@ -0,0 +1,190 @@
+package com.foodygo.search;
+
+import com.foodygo.dto.response.SuggestionResponse;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable radix tree from folded name prefixes to the most popular suggestions.
+ * Every word start of a name is a key, so "com" finds "Cơm tấm" and "tam" finds it too. Each node holds the indexes of
+ * its {@link #TOP} heaviest suggestions, so a lookup is a walk down the prefix with no scoring or sorting.
+ * Instances are never modified, a refresh builds a new one.
+ */
+public final class PrefixTrie {
+
+    public static final int TOP = 10;
+    private static final int MAX_WORDS = 6;
+    private static final int MAX_KEY_LENGTH = 40;
+
+    private static final PrefixTrie EMPTY = new PrefixTrie(new SuggestionResponse[0], new Node(new char[0], new Node[0], new int[0]));
+
+    // sorted by descending weight, so a smaller index is a better suggestion
+    private final SuggestionResponse[] suggestions;
+    private final Node root;
+
+    private PrefixTrie(SuggestionResponse[] suggestions, Node root) {
+        this.suggestions = suggestions;
+        this.root = root;
+    }
+
+    public static PrefixTrie empty() {
+        return EMPTY;
+    }
+
+    public static PrefixTrie build(List<SuggestionResponse> candidates) {
+        SuggestionResponse[] suggestions = candidates.stream()
+                .sorted(Comparator.comparingLong(SuggestionResponse::getWeight).reversed()
+                        .thenComparing(SuggestionResponse::getName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toArray(SuggestionResponse[]::new);
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < suggestions.length; i++) {
+            String folded = fold(suggestions[i].getName());
+            int start = 0;
+            for (int words = 0; words < MAX_WORDS && start < folded.length(); words++) {
+                keys.add(new Key(folded.substring(start, Math.min(folded.length(), start + MAX_KEY_LENGTH)), i));
+                int space = folded.indexOf(' ', start);
+                if (space < 0) {
+                    break;
+                }
+                start = space + 1;
+            }
+        }
+        Key[] sorted = keys.stream()
+                .sorted(Comparator.comparing(Key::text).thenComparingInt(Key::suggestion))
+                .toArray(Key[]::new);
+        return new PrefixTrie(suggestions, build(sorted, 0, sorted.length, 0, new char[0]));
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    public List<SuggestionResponse> complete(String prefix, int limit) {
+        String key = fold(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            int matched = child.match(key, position);
+            if (position + matched < key.length() && matched < child.label.length) {
+                return List.of();
+            }
+            position += matched;
+            node = child;
+        }
+        int count = Math.min(limit, node.top.length);
+        List<SuggestionResponse> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(suggestions[node.top[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Lower cases, strips diacritics, {@code đ} included, and collapses everything that is not a letter or digit into single spaces.
+     */
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        char[] input = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT).toCharArray();
+        char[] folded = new char[input.length * 4];
+        int length = ASCIIFoldingFilter.foldToASCII(input, 0, folded, 0, input.length);
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = folded[i];
+            if (Character.isLetterOrDigit(c)) {
+                result.append(c);
+            } else if (!result.isEmpty() && result.charAt(result.length() - 1) != ' ') {
+                result.append(' ');
+            }
+        }
+        int end = result.length();
+        return end > 0 && result.charAt(end - 1) == ' ' ? result.substring(0, end - 1) : result.toString();
+    }
+
+    // keys[lo, hi) are sorted and share their first depth characters; those of exactly that length end at this node
+    private static Node build(Key[] keys, int lo, int hi, int depth, char[] label) {
+        int i = lo;
+        while (i < hi && keys[i].text().length() == depth) {
+            i++;
+        }
+        int terminalEnd = i;
+        List<Node> children = new ArrayList<>();
+        while (i < hi) {
+            char first = keys[i].text().charAt(depth);
+            int j = i + 1;
+            while (j < hi && keys[j].text().charAt(depth) == first) {
+                j++;
+            }
+            int end = commonPrefixEnd(keys[i].text(), keys[j - 1].text(), depth);
+            children.add(build(keys, i, j, end, keys[i].text().substring(depth, end).toCharArray()));
+            i = j;
+        }
+        int[] top = IntStream.concat(
+                        Arrays.stream(keys, lo, terminalEnd).mapToInt(Key::suggestion),
+                        children.stream().flatMapToInt(child -> Arrays.stream(child.top)))
+                .sorted()
+                .distinct()
+                .limit(TOP)
+                .toArray();
+        return new Node(label, children.toArray(Node[]::new), top);
+    }
+
+    private static int commonPrefixEnd(String a, String b, int from) {
+        int end = from;
+        while (end < a.length() && end < b.length() && a.charAt(end) == b.charAt(end)) {
+            end++;
+        }
+        return end;
+    }
+
+    private record Key(String text, int suggestion) {
+    }
+
+    private static final class Node {
+
+        private final char[] label;
+        // children are sorted by the first character of their label
+        private final Node[] children;
+        private final char[] firsts;
+        private final int[] top;
+
+        Node(char[] label, Node[] children, int[] top) {
+            this.label = label;
+            this.children = children;
+            this.top = top;
+            this.firsts = new char[children.length];
+            for (int i = 0; i < children.length; i++) {
+                firsts[i] = children[i].label[0];
+            }
+        }
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(firsts, c);
+            return index < 0 ? null : children[index];
+        }
+
+        // number of label characters matching the key from position, up to the end of either
+        int match(String key, int position) {
+            int matched = 0;
+            while (matched < label.length && position + matched < key.length() && label[matched] == key.charAt(position + matched)) {
+                matched++;
+            }
+            return matched;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.foodygo.search;
+
+import com.foodygo.dto.internal.SearchEntry;
+import com.foodygo.dto.response.SearchHitResponse;
+import com.foodygo.enums.SearchType;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory Lucene index of restaurants, products and categories.
+ * Text is NFC normalized, lower cased and ASCII folded, so "phở bò" and "pho bo" are the same terms, {@code đ} included.
+ * Names are also indexed as edge n-grams, which turns typeahead into plain term lookups instead of prefix scans.
+ * Writes are visible to searches after {@link #refresh()}.
+ */
+@Component
+public class SearchIndex {
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String NAME_PREFIX = "name_prefix";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String RESTAURANT_ID = "restaurant_id";
+
+    private static final int MAX_PREFIX_LENGTH = 20;
+    private static final int MAX_QUERY_TERMS = 8;
+
+    private final Analyzer textAnalyzer = new FoldingAnalyzer(false);
+    private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public SearchIndex() throws IOException {
+        Analyzer indexAnalyzer = new PerFieldAnalyzerWrapper(textAnalyzer, Map.of(NAME_PREFIX, new FoldingAnalyzer(true)));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(indexAnalyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void put(SearchType type, SearchEntry entry) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key(type, entry.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, type.name(), Field.Store.YES));
+        document.add(new StoredField(ID, entry.id()));
+        document.add(new TextField(NAME, normalize(entry.name()), Field.Store.YES));
+        document.add(new TextField(NAME_PREFIX, normalize(entry.name()), Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, normalize(entry.description()), Field.Store.YES));
+        document.add(new StoredField(AVAILABLE, entry.available() ? 1 : 0));
+        if (entry.restaurantId() != null) {
+            document.add(new StoredField(RESTAURANT_ID, entry.restaurantId()));
+        }
+        try {
+            writer.updateDocument(new Term(KEY, key(type, entry.id())), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void remove(SearchType type, Integer id) {
+        try {
+            writer.deleteDocuments(new Term(KEY, key(type, id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void clear() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Every query term must match a name word, a name prefix or a description word.
+     * Whole name words rank above name prefixes, which rank above description matches, BM25 orders the rest.
+     */
+    public List<SearchHitResponse> search(String text, SearchType type, int size) {
+        List<String> terms = analyze(normalize(text));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, term)), 4f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(NAME_PREFIX, term)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(DESCRIPTION, term)), 0.5f), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return toHits(searcher, searcher.search(query.build(), size));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private List<SearchHitResponse> toHits(IndexSearcher searcher, TopDocs topDocs) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<SearchHitResponse> hits = new ArrayList<>(topDocs.scoreDocs.length);
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+            Document document = storedFields.document(scoreDoc.doc);
+            hits.add(SearchHitResponse.builder()
+                    .type(SearchType.valueOf(document.get(TYPE)))
+                    .id(document.getField(ID).numericValue().intValue())
+                    .name(document.get(NAME))
+                    .description(document.get(DESCRIPTION))
+                    .available(document.getField(AVAILABLE).numericValue().intValue() == 1)
+                    .restaurantId(document.getField(RESTAURANT_ID) == null ? null : document.getField(RESTAURANT_ID).numericValue().intValue())
+                    .score(scoreDoc.score)
+                    .build());
+        }
+        return hits;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = textAnalyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static String key(SearchType type, Integer id) {
+        return type.name() + ":" + id;
+    }
+
+    // decomposed input would keep its combining marks through ASCII folding, so everything is composed first
+    private static String normalize(String text) {
+        return text == null ? "" : Normalizer.normalize(text, Normalizer.Form.NFC);
+    }
+
+    private static final class FoldingAnalyzer extends Analyzer {
+
+        private final boolean prefixes;
+
+        FoldingAnalyzer(boolean prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(source));
+            if (prefixes) {
+                stream = new EdgeNGramTokenFilter(stream, 1, MAX_PREFIX_LENGTH, true);
+            }
+            return new TokenStreamComponents(source, stream);
+        }
+    }
+}
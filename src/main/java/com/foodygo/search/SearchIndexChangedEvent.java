@@ -0,0 +1,15 @@
+package com.foodygo.search;
+
+import com.foodygo.enums.SearchType;
+
+import java.util.List;
+
+/**
+ * Published when searchable entities were inserted, updated or deleted. Carries only the ids, the documents are reloaded.
+ */
+public record SearchIndexChangedEvent(SearchType type, List<Integer> ids) {
+
+    public static SearchIndexChangedEvent of(SearchType type, Integer id) {
+        return new SearchIndexChangedEvent(type, List.of(id));
+    }
+}
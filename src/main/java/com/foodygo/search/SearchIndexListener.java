@@ -0,0 +1,42 @@
+package com.foodygo.search;
+
+import com.foodygo.entity.Category;
+import com.foodygo.entity.Product;
+import com.foodygo.entity.Restaurant;
+import com.foodygo.enums.SearchType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener of the searchable entities. Hibernate resolves it from the Spring context,
+ * it turns every flushed change into a {@link SearchIndexChangedEvent} that is handled once the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        if (entity instanceof Restaurant restaurant) {
+            publish(SearchType.RESTAURANT, restaurant.getId());
+        } else if (entity instanceof Product product) {
+            publish(SearchType.PRODUCT, product.getId());
+        } else if (entity instanceof Category category) {
+            publish(SearchType.CATEGORY, category.getId());
+        }
+    }
+
+    private void publish(SearchType type, Integer id) {
+        if (id != null) {
+            applicationEventPublisher.publishEvent(SearchIndexChangedEvent.of(type, id));
+        }
+    }
+}
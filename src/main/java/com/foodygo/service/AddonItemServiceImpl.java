@@ -1,5 +1,9 @@
 package com.foodygo.service;
 
+import com.foodygo.cache.CacheNames;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.cache.PageCached;
 import com.foodygo.dto.AddonItemDTO;
 import com.foodygo.entity.AddonItem;
 import com.foodygo.exception.ElementNotFoundException;
@@ -18,6 +22,9 @@ import java.util.List;
 public class AddonItemServiceImpl implements AddonItemService {
 
     private final AddonItemRepository addonItemRepository;
+    private final PricingService pricingService;
+    private final MenuService menuService;
+    private final NearCacheManager nearCacheManager;
 
     @Override
     public List<AddonItem> getAddonItemsBySectionId(Integer sectionId) {
@@ -25,6 +32,7 @@ public class AddonItemServiceImpl implements AddonItemService {
     }
 
     @Override
+    @PageCached("addon-items")
     public Page<AddonItemDTO> getAddonItemsBySectionId(Integer sectionId, Pageable pageable) {
         return addonItemRepository.findBySectionIdAndDeletedFalse(sectionId, pageable)
                 .map(AddonItemMapper.INSTANCE::toDTO);
@@ -47,23 +55,30 @@ public class AddonItemServiceImpl implements AddonItemService {
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-items")
     public AddonItem createAddonItem(AddonItemDTO.CreateRequest request) {
         AddonItem addonItem = AddonItem.builder()
                 .name(request.name())
                 .price(request.price())
                 .quantity(request.quantity())
                 .build();
-        return addonItemRepository.save(addonItem);
+        addonItem = addonItemRepository.save(addonItem);
+        pricingService.refreshAddonItem(addonItem);
+        menuService.invalidate(addonItem);
+        evict(addonItem);
+        return addonItem;
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-items")
     public AddonItemDTO createAddonItemDTO(AddonItemDTO.CreateRequest request) {
         return AddonItemMapper.INSTANCE.toDTO(createAddonItem(request));
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-items")
     public AddonItem updateAddonItem(AddonItemDTO.UpdateRequest request) {
         AddonItem addonItem = getAddonItemById(request.id());
         if (addonItem == null) {
@@ -72,17 +87,23 @@ public class AddonItemServiceImpl implements AddonItemService {
         addonItem.setName(request.name());
         addonItem.setPrice(request.price());
         addonItem.setQuantity(request.quantity());
-        return addonItemRepository.save(addonItem);
+        addonItem = addonItemRepository.save(addonItem);
+        pricingService.refreshAddonItem(addonItem);
+        menuService.invalidate(addonItem);
+        evict(addonItem);
+        return addonItem;
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-items")
     public AddonItemDTO updateAddonItemDTO(AddonItemDTO.UpdateRequest request) {
         return AddonItemMapper.INSTANCE.toDTO(updateAddonItem(request));
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-items")
     public void deleteAddonItem(Integer id) {
         AddonItem addonItem = getAddonItemById(id);
         if (addonItem == null) {
@@ -90,5 +111,15 @@ public class AddonItemServiceImpl implements AddonItemService {
         }
         addonItem.setDeleted(true);
         addonItemRepository.save(addonItem);
+        pricingService.refreshAddonItem(addonItem);
+        menuService.invalidate(addonItem);
+        evict(addonItem);
+    }
+
+    // the product read model embeds the items of its addon sections
+    private void evict(AddonItem addonItem) {
+        if (addonItem.getSection() != null && addonItem.getSection().getProduct() != null) {
+            nearCacheManager.invalidate(CacheNames.PRODUCT, addonItem.getSection().getProduct().getId());
+        }
     }
 }
@@ -1,5 +1,9 @@
 package com.foodygo.service;
 
+import com.foodygo.cache.CacheNames;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.cache.PageCached;
 import com.foodygo.dto.AddonSectionDTO;
 import com.foodygo.entity.AddonSection;
 import com.foodygo.entity.Product;
@@ -21,6 +25,8 @@ public class AddonSectionServiceImpl implements AddonSectionService {
 
     private final AddonSectionRepository addonSectionRepository;
     private final ProductRepository productRepository;
+    private final MenuService menuService;
+    private final NearCacheManager nearCacheManager;
 
     @Override
     public List<AddonSection> getAddonSectionsByProductId(Integer id) {
@@ -28,6 +34,7 @@ public class AddonSectionServiceImpl implements AddonSectionService {
     }
 
     @Override
+    @PageCached("addon-sections")
     public Page<AddonSectionDTO> getAddonSectionsByProductId(Integer id, Pageable pageable) {
         return addonSectionRepository.findByProductIdAndDeletedFalse(id, pageable)
                 .map(AddonSectionMapper.INSTANCE::toDto);
@@ -50,6 +57,7 @@ public class AddonSectionServiceImpl implements AddonSectionService {
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-sections")
     public AddonSection createAddonSection(AddonSectionDTO.CreateRequest request) {
         Product product = productRepository.findByIdAndDeletedFalse(request.productId()).orElseThrow(
                 () -> new ElementNotFoundException("Product not found with id: " + request.productId())
@@ -60,17 +68,21 @@ public class AddonSectionServiceImpl implements AddonSectionService {
                 .required(request.required())
                 .product(product)
                 .build();
+        menuService.invalidate(product);
+        nearCacheManager.invalidate(CacheNames.PRODUCT, product.getId());
         return addonSectionRepository.save(addonSection);
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-sections")
     public AddonSectionDTO createAddonSectionDTO(AddonSectionDTO.CreateRequest request) {
         return AddonSectionMapper.INSTANCE.toDto(createAddonSection(request));
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-sections")
     public AddonSection updateAddonSection(AddonSectionDTO.UpdateRequest request) {
         AddonSection addonSection = getAddonSectionById(request.id());
         if (addonSection == null) {
@@ -79,17 +91,21 @@ public class AddonSectionServiceImpl implements AddonSectionService {
         addonSection.setName(request.name());
         addonSection.setMaxChoice(request.maxChoice());
         addonSection.setRequired(request.required());
+        menuService.invalidate(addonSection);
+        evict(addonSection);
         return addonSectionRepository.save(addonSection);
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-sections")
     public AddonSectionDTO updateAddonSectionDTO(AddonSectionDTO.UpdateRequest request) {
         return AddonSectionMapper.INSTANCE.toDto(updateAddonSection(request));
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("addon-sections")
     public void deleteAddonSection(Integer id) {
         AddonSection addonSection = getAddonSectionById(id);
         if (addonSection == null) {
@@ -97,5 +113,14 @@ public class AddonSectionServiceImpl implements AddonSectionService {
         }
         addonSection.setDeleted(true);
         addonSectionRepository.save(addonSection);
+        menuService.invalidate(addonSection);
+        evict(addonSection);
+    }
+
+    // the product read model embeds its addon sections
+    private void evict(AddonSection addonSection) {
+        if (addonSection.getProduct() != null) {
+            nearCacheManager.invalidate(CacheNames.PRODUCT, addonSection.getProduct().getId());
+        }
     }
 }
@@ -0,0 +1,53 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.ProductDTO;
+import com.foodygo.dto.internal.AddonItemRow;
+import com.foodygo.dto.internal.AddonSectionRow;
+import com.foodygo.repository.AddonItemRepository;
+import com.foodygo.repository.AddonSectionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the addon sections and items of many products in two queries, whatever the number of products.
+ * Both queries select plain rows instead of entities, so none of the eager associations of sections and items are followed.
+ */
+@Component
+@RequiredArgsConstructor
+public class AddonTreeReader {
+
+    private final AddonSectionRepository addonSectionRepository;
+    private final AddonItemRepository addonItemRepository;
+
+    // every product id is a key of the result, in the given order, with an empty list when it has no addons
+    // sections and items are ordered by id, which keeps documents built from them stable
+    public Map<Integer, List<ProductDTO.AddonSection>> read(Collection<Integer> productIds) {
+        Map<Integer, List<ProductDTO.AddonSection>> sectionsByProduct = new LinkedHashMap<>();
+        productIds.forEach(id -> sectionsByProduct.put(id, new ArrayList<>()));
+        if (productIds.isEmpty()) {
+            return sectionsByProduct;
+        }
+        List<AddonSectionRow> sections = addonSectionRepository.findRowsByProductIdIn(productIds);
+        if (sections.isEmpty()) {
+            return sectionsByProduct;
+        }
+        List<AddonItemRow> items = addonItemRepository.findRowsByProductIdIn(productIds);
+
+        Map<Integer, List<ProductDTO.AddonSection.AddonItem>> itemsBySection = new HashMap<>();
+        items.forEach(item -> itemsBySection
+                .computeIfAbsent(item.sectionId(), id -> new ArrayList<>())
+                .add(new ProductDTO.AddonSection.AddonItem(item.id(), item.name(), item.price(), item.quantity())));
+        sections.forEach(section -> sectionsByProduct
+                .computeIfAbsent(section.productId(), id -> new ArrayList<>())
+                .add(new ProductDTO.AddonSection(section.id(), section.name(), section.maxChoice(), section.required(),
+                        itemsBySection.getOrDefault(section.id(), List.of()))));
+        return sectionsByProduct;
+    }
+}
@@ -0,0 +1,13 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.response.SuggestionResponse;
+
+import java.util.List;
+
+public interface AutocompleteService {
+
+    List<SuggestionResponse> complete(String prefix, int size);
+
+    void rebuild();
+
+}
@@ -0,0 +1,71 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.internal.ItemCount;
+import com.foodygo.dto.internal.SearchEntry;
+import com.foodygo.dto.response.SuggestionResponse;
+import com.foodygo.enums.SearchType;
+import com.foodygo.repository.CategoryRepository;
+import com.foodygo.repository.OrderDetailRepository;
+import com.foodygo.repository.ProductRepository;
+import com.foodygo.repository.RestaurantRepository;
+import com.foodygo.search.PrefixTrie;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Answers typeahead queries from a {@link PrefixTrie} of the available restaurants, products and categories,
+ * weighted by how many order lines they appear in. The trie is rebuilt on the scheduler thread and swapped in with a
+ * single volatile write, so lookups never wait and never see a half built trie.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final OrderDetailRepository orderDetailRepository;
+
+    private volatile PrefixTrie trie = PrefixTrie.empty();
+
+    @Override
+    public List<SuggestionResponse> complete(String prefix, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        return trie.complete(prefix, Math.min(size, PrefixTrie.TOP));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${application.autocomplete.rebuild-interval-ms}")
+    public void rebuild() {
+        List<SuggestionResponse> candidates = new ArrayList<>();
+        addCandidates(candidates, SearchType.RESTAURANT, restaurantRepository.findAllSearchEntries(), orderDetailRepository.countByRestaurant());
+        addCandidates(candidates, SearchType.PRODUCT, productRepository.findAllSearchEntries(), orderDetailRepository.countByProduct());
+        addCandidates(candidates, SearchType.CATEGORY, categoryRepository.findAllSearchEntries(), orderDetailRepository.countByCategory());
+        trie = PrefixTrie.build(candidates);
+        log.info("Built autocomplete trie with {} suggestions", trie.size());
+    }
+
+    private void addCandidates(List<SuggestionResponse> candidates, SearchType type, List<SearchEntry> entries, List<ItemCount> counts) {
+        Map<Integer, Long> weights = counts.stream().collect(Collectors.toMap(ItemCount::id, ItemCount::count));
+        for (SearchEntry entry : entries) {
+            if (entry.available() && entry.name() != null) {
+                candidates.add(SuggestionResponse.builder()
+                        .type(type)
+                        .id(entry.id())
+                        .name(entry.name())
+                        .weight(weights.getOrDefault(entry.id(), 0L))
+                        .build());
+            }
+        }
+    }
+}
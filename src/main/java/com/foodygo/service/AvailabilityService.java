@@ -0,0 +1,13 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.request.ProductAvailabilityRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface AvailabilityService {
+
+    List<Integer> updateProducts(ProductAvailabilityRequest request);
+    SseEmitter subscribe(Integer restaurantId);
+
+}
@@ -0,0 +1,202 @@
+package com.foodygo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodygo.cache.CacheNames;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.dto.AvailabilityDelta;
+import com.foodygo.dto.internal.ProductCategoryId;
+import com.foodygo.dto.request.ProductAvailabilityRequest;
+import com.foodygo.enums.SearchType;
+import com.foodygo.repository.ProductRepository;
+import com.foodygo.search.SearchIndexChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Switches the availability of many products of a restaurant with a single UPDATE.
+ * Only the rows that actually change are touched. Once the change has committed, the cached menu of the restaurant is patched
+ * in place and an {@link AvailabilityDelta} is announced over Redis pub/sub, so every instance drops the prices of the switched
+ * products and pushes the delta to the clients following that restaurant through server-sent events.
+ */
+@Slf4j
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService, MessageListener {
+
+    private static final String CHANNEL = "availability";
+    private static final String EVENT_NAME = "availability";
+    private static final int MAX_PRODUCTS = 500;
+
+    private final ProductRepository productRepository;
+    private final PricingService pricingService;
+    private final MenuService menuService;
+    private final NearCacheManager nearCacheManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final Map<Integer, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public AvailabilityServiceImpl(ProductRepository productRepository, PricingService pricingService, MenuService menuService,
+                                   NearCacheManager nearCacheManager, ApplicationEventPublisher applicationEventPublisher,
+                                   StringRedisTemplate stringRedisTemplate, RedisMessageListenerContainer redisMessageListenerContainer,
+                                   ObjectMapper objectMapper,
+                                   @Value("${application.availability.emitter-timeout-ms}") long emitterTimeoutMs) {
+        this.productRepository = productRepository;
+        this.pricingService = pricingService;
+        this.menuService = menuService;
+        this.nearCacheManager = nearCacheManager;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // returns the ids that were switched, products that are unknown, deleted, of another restaurant or already in the requested state are skipped
+    @Override
+    @Transactional
+    @PageCacheEvict({"products", "categories"})
+    public List<Integer> updateProducts(ProductAvailabilityRequest request) {
+        validate(request);
+        boolean available = request.getAvailable();
+        List<ProductCategoryId> changed = productRepository.findToSwitch(request.getRestaurantId(),
+                new LinkedHashSet<>(request.getProductIds()), available);
+        if (changed.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> productIds = changed.stream().map(ProductCategoryId::productId).toList();
+        Set<Integer> categoryIds = new LinkedHashSet<>();
+        changed.stream().map(ProductCategoryId::categoryId).filter(Objects::nonNull).forEach(categoryIds::add);
+        productRepository.updateAvailability(productIds, available, LocalDateTime.now());
+
+        nearCacheManager.invalidate(CacheNames.PRODUCT, productIds);
+        nearCacheManager.invalidate(CacheNames.CATEGORY, categoryIds);
+        applicationEventPublisher.publishEvent(new SearchIndexChangedEvent(SearchType.PRODUCT, productIds));
+        AvailabilityDelta delta = new AvailabilityDelta(request.getRestaurantId(), productIds, available, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(delta);
+        } else {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    AvailabilityServiceImpl.this.afterCommit(delta);
+                }
+            });
+        }
+        return productIds;
+    }
+
+    @Override
+    public SseEmitter subscribe(Integer restaurantId) {
+        if (restaurantId == null) {
+            throw new IllegalArgumentException("Restaurant id is required");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        List<SseEmitter> followers = emitters.computeIfAbsent(restaurantId, id -> new CopyOnWriteArrayList<>());
+        followers.add(emitter);
+        Runnable remove = () -> followers.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    // proxies and load balancers close idle streams, a comment keeps them open without reaching the client's handlers
+    @Scheduled(fixedDelayString = "${application.availability.heartbeat-ms}")
+    void heartbeat() {
+        emitters.values().forEach(followers ->
+                followers.forEach(emitter -> send(followers, emitter, SseEmitter.event().comment("ping"))));
+    }
+
+    // every instance, this one included, drops the switched prices, so none of them keeps selling a sold out product
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            AvailabilityDelta delta = objectMapper.readValue(message.getBody(), AvailabilityDelta.class);
+            pricingService.evictLocal(delta.productIds(), List.of());
+            deliver(delta);
+        } catch (IOException e) {
+            log.warn("Cannot read availability delta {}: {}", new String(message.getBody(), StandardCharsets.UTF_8), e.toString());
+        }
+    }
+
+    // the prices are dropped here right away as well, a checkout on this instance must not wait for the message
+    private void afterCommit(AvailabilityDelta delta) {
+        pricingService.evictLocal(delta.productIds(), List.of());
+        menuService.patchAvailability(delta.restaurantId(), delta.productIds(), delta.available());
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(delta));
+        } catch (Exception e) {
+            // the followers connected to this instance are still told
+            log.warn("Cannot announce availability of products {}: {}", delta.productIds(), e.toString());
+            deliver(delta);
+        }
+    }
+
+    private void deliver(AvailabilityDelta delta) {
+        List<SseEmitter> followers = emitters.get(delta.restaurantId());
+        if (followers == null) {
+            return;
+        }
+        followers.forEach(emitter -> send(followers, emitter, SseEmitter.event().name(EVENT_NAME).data(delta)));
+    }
+
+    // a failed send means the client is gone, the emitter is dropped and completed
+    private void send(List<SseEmitter> followers, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (Exception e) {
+            followers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void validate(ProductAvailabilityRequest request) {
+        if (request.getRestaurantId() == null) {
+            throw new IllegalArgumentException("Restaurant id is required");
+        }
+        if (request.getAvailable() == null) {
+            throw new IllegalArgumentException("Availability is required");
+        }
+        if (request.getProductIds() == null || request.getProductIds().isEmpty()) {
+            throw new IllegalArgumentException("Product ids are required");
+        }
+        if (request.getProductIds().size() > MAX_PRODUCTS) {
+            throw new IllegalArgumentException("At most " + MAX_PRODUCTS + " products can be updated at once");
+        }
+        if (request.getProductIds().contains(null)) {
+            throw new IllegalArgumentException("Product ids must not be null");
+        }
+    }
+}
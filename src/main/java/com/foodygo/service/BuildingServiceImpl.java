@@ -1,5 +1,7 @@
 package com.foodygo.service;
 
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.cache.PageCached;
 import com.foodygo.dto.BuildingDTO;
 import com.foodygo.dto.HubDTO;
 import com.foodygo.dto.request.BuildingCreateRequest;
@@ -43,6 +45,7 @@ public class BuildingServiceImpl extends BaseServiceImpl<Building, Integer> impl
     }
 
     @Override
+    @PageCached("buildings")
     public PagingResponse getAllBuildings(Integer currentPage, Integer pageSize) {
         Pageable pageable = PageRequest.of(currentPage - 1, pageSize);
 
@@ -73,6 +76,7 @@ public class BuildingServiceImpl extends BaseServiceImpl<Building, Integer> impl
     }
 
     @Override
+    @PageCached("buildings")
     public PagingResponse getBuildingsActive(Integer currentPage, Integer pageSize) {
         Pageable pageable = PageRequest.of(currentPage - 1, pageSize);
 
@@ -103,6 +107,7 @@ public class BuildingServiceImpl extends BaseServiceImpl<Building, Integer> impl
     }
 
     @Override
+    @PageCacheEvict("buildings")
     public BuildingDTO undeleteBuilding(Integer buildingID) {
         Building building = buildingRepository.findBuildingById(buildingID);
         if (building == null) {
@@ -116,6 +121,7 @@ public class BuildingServiceImpl extends BaseServiceImpl<Building, Integer> impl
     }
 
     @Override
+    @PageCacheEvict("buildings")
     public BuildingDTO createBuilding(BuildingCreateRequest buildingCreateRequest) {
         Building checkExist = buildingRepository.findBuildingByName(buildingCreateRequest.getName());
         if (checkExist != null) {
@@ -140,6 +146,7 @@ public class BuildingServiceImpl extends BaseServiceImpl<Building, Integer> impl
     }
 
     @Override
+    @PageCacheEvict("buildings")
     public BuildingDTO updateBuilding(BuildingUpdateRequest buildingUpdateRequest, int buildingID) {
         Building building = buildingRepository.findBuildingById(buildingID);
         if (building != null) {
@@ -211,6 +218,7 @@ public class BuildingServiceImpl extends BaseServiceImpl<Building, Integer> impl
     }
 
     @Override
+    @PageCacheEvict("buildings")
     public BuildingDTO deleteBuilding(Integer buildingID) {
         Building building = buildingRepository.findBuildingById(buildingID);
         if (building == null) {
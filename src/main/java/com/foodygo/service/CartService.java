@@ -2,6 +2,9 @@ package com.foodygo.service;
 
 import com.foodygo.dto.cart.Cart;
 import com.foodygo.dto.cart.CartItem;
+import com.foodygo.dto.request.CheckoutRequest;
+import com.foodygo.dto.response.CartMemoryResponse;
+import com.foodygo.dto.response.OrderResponse;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -10,7 +13,13 @@ public interface CartService {
 
     Cart addToCart(Integer userId, CartItem cartItem);
 
+    Cart incrementQuantity(Integer userId, Integer productId, Integer delta);
+
     Cart removeFromCart(Integer userId, Integer productId);
 
     Cart clearCart(Integer userId);
+
+    OrderResponse checkout(Integer userId, CheckoutRequest checkoutRequest);
+
+    CartMemoryResponse getMemoryStats(int sampleSize);
 }
@@ -1,73 +1,175 @@
 package com.foodygo.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodygo.dto.cart.Cart;
 import com.foodygo.dto.cart.CartItem;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import com.foodygo.dto.request.CheckoutRequest;
+import com.foodygo.dto.response.CartMemoryResponse;
+import com.foodygo.dto.response.OrderResponse;
+import com.foodygo.utils.CartCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
-import java.util.LinkedHashMap;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * Carts are Redis hashes with one field per product line holding the {@link CartCodec} encoded line.
+ * Every change runs as a single Lua script, so it is atomic and costs one round trip, and every access refreshes the idle expiry.
+ * The hash also keeps a {@code total} in minor units, moved by the changed line only, which the scripts return along with the lines.
+ */
 @Service
-@RequiredArgsConstructor
 public class CartServiceImpl implements CartService {
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PricingService pricingService;
+    private final OrderService orderService;
+    private final byte[] idleTtlSeconds;
     private static final String CART_PREFIX = "cart:";
+    private static final String CHECKOUT_PREFIX = "cart-checkout:";
+    private static final String TOTAL_FIELD = "total";
+    // the scripts reply with a list of raw bytes, the template applies the result serializer to each element
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisSerializer<List> ELEMENTS = (RedisSerializer) RedisSerializer.byteArray();
 
-    public Cart getCart(Integer userId) {
+    private static final RedisScript<List> GET_SCRIPT = loadScript("get");
+    private static final RedisScript<List> ADD_SCRIPT = loadScript("add");
+    private static final RedisScript<List> INCREMENT_SCRIPT = loadScript("increment");
+    private static final RedisScript<List> REMOVE_SCRIPT = loadScript("remove");
+    private static final RedisScript<List> CLAIM_SCRIPT = loadScript("claim");
+    private static final RedisScript<List> RESTORE_SCRIPT = loadScript("restore");
+
+    public CartServiceImpl(StringRedisTemplate stringRedisTemplate, PricingService pricingService, OrderService orderService,
+                           @Value("${application.cart.idle-ttl-seconds}") long idleTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.pricingService = pricingService;
+        this.orderService = orderService;
+        this.idleTtlSeconds = bytes(idleTtlSeconds);
+    }
 
-        String key = CART_PREFIX + userId;
-        Object data = redisTemplate.opsForValue().get(key);
-        if (data != null) {
-            return objectMapper.convertValue(data, Cart.class);
+    // the shared helpers in lib.lua are prepended, Redis has no way to share code between scripts
+    private static RedisScript<List> loadScript(String name) {
+        try {
+            String lib = new ClassPathResource("scripts/cart/lib.lua").getContentAsString(StandardCharsets.UTF_8);
+            String body = new ClassPathResource("scripts/cart/" + name + ".lua").getContentAsString(StandardCharsets.UTF_8);
+            return new DefaultRedisScript<>(lib + "\n" + body, List.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load cart script " + name, e);
         }
-        return new Cart();
     }
 
+    public Cart getCart(Integer userId) {
+        return execute(GET_SCRIPT, List.of(CART_PREFIX + userId), idleTtlSeconds);
+    }
+
+    // names and prices come from the pricing snapshot, only ids and quantities are taken from the client
     public Cart addToCart(Integer userId, CartItem cartItem) {
-        Cart cart = getCart(userId);
+        CartItem pricedItem = pricingService.price(cartItem);
+        return execute(ADD_SCRIPT, List.of(CART_PREFIX + userId), bytes(pricedItem.getProductId()), CartCodec.encode(pricedItem), idleTtlSeconds);
+    }
 
-        Optional<CartItem> existingItem = cart.getItems()
-                .stream()
-                .filter(item -> item.getProductId().equals(cartItem.getProductId()))
-                .findFirst();
+    public Cart incrementQuantity(Integer userId, Integer productId, Integer delta) {
+        return execute(INCREMENT_SCRIPT, List.of(CART_PREFIX + userId), bytes(productId), bytes(delta), idleTtlSeconds);
+    }
 
-        if (existingItem.isPresent()) {
-            existingItem.get().setQuantity(existingItem.get().getQuantity() + cartItem.getQuantity());
-        } else {
-            cart.getItems().add(cartItem);
-        }
+    public Cart removeFromCart(Integer userId, Integer productId) {
+        return execute(REMOVE_SCRIPT, List.of(CART_PREFIX + userId), bytes(productId), idleTtlSeconds);
+    }
 
-        return updateCart(userId, cart);
+    public Cart clearCart(Integer userId) {
+        stringRedisTemplate.delete(CART_PREFIX + userId);
+        return new Cart();
     }
 
-    public Cart removeFromCart(Integer userId, Integer productId) {
-        Cart cart = getCart(userId);
-        cart.getItems().removeIf(item -> item.getProductId().equals(productId));
-        if (cart.getItems().isEmpty()) {
-            redisTemplate.delete(CART_PREFIX + userId);
-            return new Cart();
+    /**
+     * The cart is claimed by renaming it to a key of this checkout, so two concurrent checkouts cannot both order it.
+     * The claimed cart is dropped once the order transaction has committed; a failed checkout puts its lines back.
+     */
+    public OrderResponse checkout(Integer userId, CheckoutRequest checkoutRequest) {
+        List<String> claim = List.of(CART_PREFIX + userId, CHECKOUT_PREFIX + userId + ":" + UUID.randomUUID());
+        Cart cart = execute(CLAIM_SCRIPT, claim, idleTtlSeconds);
+        OrderResponse orderResponse;
+        try {
+            orderResponse = orderService.checkout(userId, cart.getItems(), checkoutRequest);
+        } catch (RuntimeException e) {
+            execute(RESTORE_SCRIPT, List.of(claim.get(1), claim.get(0)), idleTtlSeconds);
+            throw e;
         }
-        return updateCart(userId, cart);
+        stringRedisTemplate.delete(claim.get(1));
+        return orderResponse;
     }
 
-    public Cart updateCart(Integer userId, Cart cart) {
-        cart.setTotalPrice(cart.getItems()
-                .stream()
-                .mapToDouble(item -> item.getPrice() * item.getQuantity()
-                        + item.getCartAddOnItems().stream().mapToDouble(a -> a.getPrice() * a.getQuantity()).sum())
-                .sum()
-        );
+    /**
+     * Counts carts with SCAN and measures {@code MEMORY USAGE} of the first {@code sampleSize} keys in one pipeline.
+     * SCAN order follows the hash table, so the first keys are an unbiased enough sample to extrapolate the total from.
+     */
+    public CartMemoryResponse getMemoryStats(int sampleSize) {
+        long count = 0;
+        List<String> samples = new ArrayList<>(sampleSize);
+        try (Cursor<String> cursor = stringRedisTemplate.scan(ScanOptions.scanOptions().match(CART_PREFIX + "*").count(1000).build())) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                if (samples.size() < sampleSize) {
+                    samples.add(key);
+                }
+                count++;
+            }
+        }
+        List<Object> usages = samples.isEmpty() ? List.of() : stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : samples) {
+                connection.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        long sampledBytes = usages.stream().filter(Number.class::isInstance).mapToLong(usage -> ((Number) usage).longValue()).sum();
+        long averageBytes = samples.isEmpty() ? 0 : sampledBytes / samples.size();
+        return CartMemoryResponse.builder()
+                .cartCount(count)
+                .sampledCarts(samples.size())
+                .sampledBytes(sampledBytes)
+                .averageBytesPerCart(averageBytes)
+                .estimatedTotalBytes(averageBytes * count)
+                .build();
+    }
 
-        redisTemplate.opsForValue().set(CART_PREFIX + userId, cart);
+    private Cart execute(RedisScript<List> script, List<String> keys, byte[]... args) {
+        List<?> fields = stringRedisTemplate.execute(script, RedisSerializer.byteArray(), ELEMENTS, keys, (Object[]) args);
+        return toCart(fields);
+    }
+
+    // HGETALL replies are a flat [field, value, field, value, ...] list
+    private Cart toCart(List<?> fields) {
+        Cart cart = new Cart();
+        if (fields == null || fields.isEmpty()) {
+            return cart;
+        }
+        List<CartItem> items = new ArrayList<>();
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            String field = new String((byte[]) fields.get(i), StandardCharsets.UTF_8);
+            byte[] value = (byte[]) fields.get(i + 1);
+            if (TOTAL_FIELD.equals(field)) {
+                cart.setTotalPrice(Long.parseLong(new String(value, StandardCharsets.UTF_8)) / 100.0);
+            } else {
+                items.add(CartCodec.decode(value));
+            }
+        }
+        items.sort(Comparator.comparing(CartItem::getProductId));
+        cart.setItems(items);
         return cart;
     }
 
-    public Cart clearCart(Integer userId) {
-        redisTemplate.delete(CART_PREFIX + userId);
-        return new Cart();
+    private static byte[] bytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
     }
 }
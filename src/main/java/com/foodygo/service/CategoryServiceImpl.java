@@ -1,5 +1,9 @@
 package com.foodygo.service;
 
+import com.foodygo.cache.CacheNames;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.cache.PageCached;
 import com.foodygo.dto.CategoryDTO;
 import com.foodygo.entity.Category;
 import com.foodygo.entity.Restaurant;
@@ -22,6 +26,8 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
 
     private final RestaurantRepository restaurantRepository;
+    private final MenuService menuService;
+    private final NearCacheManager nearCacheManager;
 
     @Override
     public Category getCategoryById(Integer categoryId) {
@@ -32,11 +38,13 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public CategoryDTO getCategoryDTOById(Integer categoryId) {
-        Category category = getCategoryById(categoryId);
-        if (category == null) {
-            throw new ElementNotFoundException("Category not found with id " + categoryId);
-        }
-        return CategoryMapper.INSTANCE.toDTO(category);
+        return nearCacheManager.getCache(CacheNames.CATEGORY, CategoryDTO.class).get(categoryId, () -> {
+            Category category = getCategoryById(categoryId);
+            if (category == null) {
+                throw new ElementNotFoundException("Category not found with id " + categoryId);
+            }
+            return CategoryMapper.INSTANCE.toDTO(category);
+        });
     }
 
     @Override
@@ -61,6 +69,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @PageCached("categories")
     public Page<CategoryDTO> getCategoriesDTOContainsName(String name, Pageable pageable) {
         return categoryRepository.findByNameContainingIgnoreCase(name, pageable).map(CategoryMapper.INSTANCE::toDTO);
     }
@@ -71,6 +80,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @PageCached("categories")
     public Page<CategoryDTO> getAllCategoriesDTO(Pageable pageable) {
         return categoryRepository.findByDeletedFalse(pageable).map(CategoryMapper.INSTANCE::toDTO);
     }
@@ -81,12 +91,14 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @PageCached("categories")
     public Page<CategoryDTO> getAllCategoriesDTOByRestaurantId(Integer restaurantId, Pageable pageable) {
         return categoryRepository.findByRestaurantIdAndDeletedFalse(restaurantId, pageable).map(CategoryMapper.INSTANCE::toDTO);
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("categories")
     public Category createCategory(CategoryDTO.CategoryCreateRequest categoryDTO) {
         Restaurant restaurant = restaurantRepository.findByIdAndDeletedFalse(categoryDTO.restaurantId())
                 .orElseThrow(() -> new ElementNotFoundException("Restaurant not found with id " + categoryDTO.restaurantId()));
@@ -95,17 +107,20 @@ public class CategoryServiceImpl implements CategoryService {
                 .description(categoryDTO.description())
                 .restaurant(restaurant)
                 .build();
+        menuService.invalidate(category);
         return categoryRepository.save(category);
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("categories")
     public CategoryDTO createCategoryDTO(CategoryDTO.CategoryCreateRequest categoryDTO) {
         return CategoryMapper.INSTANCE.toDTO(createCategory(categoryDTO));
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("categories")
     public Category updateCategory(CategoryDTO.CategoryUpdateRequest categoryDTO) {
         Category category = getCategoryById(categoryDTO.id());
         if (category == null) {
@@ -113,17 +128,21 @@ public class CategoryServiceImpl implements CategoryService {
         }
         category.setName(categoryDTO.name());
         category.setDescription(categoryDTO.description());
+        menuService.invalidate(category);
+        nearCacheManager.invalidate(CacheNames.CATEGORY, category.getId());
         return categoryRepository.save(category);
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("categories")
     public CategoryDTO updateCategoryDTO(CategoryDTO.CategoryUpdateRequest categoryDTO) {
         return CategoryMapper.INSTANCE.toDTO(updateCategory(categoryDTO));
     }
 
     @Override
     @Transactional
+    @PageCacheEvict("categories")
     public void deleteCategory(Integer categoryId) {
         Category category = getCategoryById(categoryId);
         if (category == null) {
@@ -131,6 +150,8 @@ public class CategoryServiceImpl implements CategoryService {
         }
         category.setDeleted(true);
         categoryRepository.save(category);
+        menuService.invalidate(category);
+        nearCacheManager.invalidate(CacheNames.CATEGORY, category.getId());
     }
 
 }
@@ -11,6 +11,9 @@ import com.foodygo.repository.TransactionRepository;
 import com.foodygo.repository.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +22,8 @@ public class DepositServiceImpl implements DepositService {
     private final DepositRepository depositRepository;
     private final WalletRepository walletRepository;
     private final TransactionRepository transactionRepository;
+    private final LedgerService ledgerService;
+    private final WalletBalanceCache walletBalanceCache;
 
     @Override
     public Deposit requestDeposit(Deposit deposit) {
@@ -26,20 +31,24 @@ public class DepositServiceImpl implements DepositService {
     }
 
     @Override
+    @Transactional
     public void approveDeposit(Integer depositId) {
         Deposit deposit = depositRepository.findById(depositId)
                 .orElseThrow(() -> new IdNotFoundException("Deposit not found"));
 
         Wallet wallet = deposit.getWallet();
-        wallet.setBalance(wallet.getBalance() + (deposit.getAmount()));
-        walletRepository.save(wallet);
+        walletRepository.credit(wallet.getId(), deposit.getAmount());
         Transaction transaction = Transaction.builder()
+                .time(LocalDateTime.now())
                 .amount(deposit.getAmount())
-                .remaining(wallet.getBalance())
+                .remaining(walletRepository.findBalanceById(wallet.getId()))
                 .type(TransactionType.TOP_UP)
                 .wallet(wallet)
+                .deposit(deposit)
                 .build();
         transactionRepository.save(transaction);
+        walletBalanceCache.putAfterCommit(wallet.getId(), transaction.getRemaining(), transaction.getId());
+        ledgerService.post(transaction, null, wallet.getId(), deposit.getAmount());
     }
 
 }
@@ -30,4 +30,8 @@ public interface HubService extends BaseService<Hub, Integer> {
 
     Hub getHubById(Integer hubID);
 
+    HubDTO getHubDTOById(Integer hubID);
+
+    Hub getHubReference(Integer hubID);
+
 }
@@ -1,5 +1,9 @@
 package com.foodygo.service;
 
+import com.foodygo.cache.CacheNames;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.cache.PageCached;
 import com.foodygo.dto.HubDTO;
 import com.foodygo.dto.request.HubCreateRequest;
 import com.foodygo.dto.request.HubUpdateRequest;
@@ -32,17 +36,20 @@ public class HubServiceImpl extends BaseServiceImpl<Hub, Integer> implements Hub
     private final HubMapper hubMapper;
     private final BuildingRepository buildingRepository;
     private final BuildingMapper buildingMapper;
+    private final NearCacheManager nearCacheManager;
 
     public HubServiceImpl(HubRepository hubRepository, HubMapper hubMapper, BuildingRepository buildingRepository,
-                          BuildingMapper buildingMapper) {
+                          BuildingMapper buildingMapper, NearCacheManager nearCacheManager) {
         super(hubRepository);
         this.hubRepository = hubRepository;
         this.hubMapper = hubMapper;
         this.buildingRepository = buildingRepository;
         this.buildingMapper = buildingMapper;
+        this.nearCacheManager = nearCacheManager;
     }
 
     @Override
+    @PageCached("hubs")
     public PagingResponse getHubsPaging(Integer currentPage, Integer pageSize) {
         Pageable pageable = PageRequest.of(currentPage - 1, pageSize);
 
@@ -73,6 +80,7 @@ public class HubServiceImpl extends BaseServiceImpl<Hub, Integer> implements Hub
     }
 
     @Override
+    @PageCached("hubs")
     public PagingResponse getHubsActive(Integer currentPage, Integer pageSize) {
         Pageable pageable = PageRequest.of(currentPage - 1, pageSize);
 
@@ -103,6 +111,7 @@ public class HubServiceImpl extends BaseServiceImpl<Hub, Integer> implements Hub
     }
 
     @Override
+    @PageCacheEvict("hubs")
     public HubDTO undeleteHub(Integer hubID) {
         Hub hub = hubRepository.findHubById(hubID);
         if (hub == null) {
@@ -112,10 +121,12 @@ public class HubServiceImpl extends BaseServiceImpl<Hub, Integer> implements Hub
             throw new UnchangedStateException("Hub is not deleted");
         }
         hub.setDeleted(false);
+        nearCacheManager.invalidate(CacheNames.HUB, hubID);
         return hubMapper.hubToHubDTO(hubRepository.save(hub));
     }
 
     @Override
+    @PageCacheEvict("hubs")
     public HubDTO createHub(HubCreateRequest hubCreateRequest) {
         Hub checkExist = hubRepository.findHubByName(hubCreateRequest.getName());
         if (checkExist != null) {
@@ -129,6 +140,7 @@ public class HubServiceImpl extends BaseServiceImpl<Hub, Integer> implements Hub
     }
 
     @Override
+    @PageCacheEvict("hubs")
     public HubDTO updateHub(HubUpdateRequest hubUpdateRequest, int hubID) {
         Hub hub = hubRepository.findHubById(hubID);
         if (hub != null) {
@@ -147,12 +159,14 @@ public class HubServiceImpl extends BaseServiceImpl<Hub, Integer> implements Hub
             if(hubUpdateRequest.getDescription() != null) {
                 hub.setDescription(hubUpdateRequest.getDescription());
             }
+            nearCacheManager.invalidate(CacheNames.HUB, hubID);
             return hubMapper.hubToHubDTO(hubRepository.save(hub));
         }
         return null;
     }
 
     @Override
+    @PageCached("buildings")
     public PagingResponse getBuildingsByHubID(Integer hubID, Integer currentPage, Integer pageSize) {
         Pageable pageable = PageRequest.of(currentPage - 1, pageSize);
 
@@ -203,4 +217,25 @@ public class HubServiceImpl extends BaseServiceImpl<Hub, Integer> implements Hub
         return hubRepository.findById(hubID).orElseThrow(() -> new IdNotFoundException("Hub not found!"));
     }
 
+    @Override
+    public HubDTO getHubDTOById(Integer hubID) {
+        return nearCacheManager.getCache(CacheNames.HUB, HubDTO.class)
+                .get(hubID, () -> hubMapper.hubToHubDTO(getHubById(hubID)));
+    }
+
+    // existence is checked against the near cache, the order only needs the foreign key
+    @Override
+    public Hub getHubReference(Integer hubID) {
+        getHubDTOById(hubID);
+        return hubRepository.getReferenceById(hubID);
+    }
+
+    // hubs are soft deleted through save
+    @Override
+    @PageCacheEvict("hubs")
+    public Hub save(Hub hub) {
+        nearCacheManager.invalidate(CacheNames.HUB, hub.getId());
+        return super.save(hub);
+    }
+
 }
@@ -0,0 +1,13 @@
+package com.foodygo.service;
+
+import com.foodygo.entity.Transaction;
+
+import java.math.BigDecimal;
+
+public interface LedgerService {
+
+    void post(Transaction transaction, Integer debitWalletId, Integer creditWalletId, double amount);
+    BigDecimal getBalance(Integer walletId);
+    void checkpoint();
+
+}
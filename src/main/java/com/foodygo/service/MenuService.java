@@ -0,0 +1,21 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.internal.MenuSnapshot;
+import com.foodygo.entity.AddonItem;
+import com.foodygo.entity.AddonSection;
+import com.foodygo.entity.Category;
+import com.foodygo.entity.Product;
+
+import java.util.Collection;
+
+public interface MenuService {
+
+    MenuSnapshot getMenu(Integer restaurantId);
+    void invalidate(Integer restaurantId);
+    void invalidate(Product product);
+    void invalidate(Category category);
+    void invalidate(AddonSection addonSection);
+    void invalidate(AddonItem addonItem);
+    void patchAvailability(Integer restaurantId, Collection<Integer> productIds, boolean available);
+
+}
@@ -0,0 +1,314 @@
+package com.foodygo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodygo.dto.MenuDTO;
+import com.foodygo.dto.ProductDTO;
+import com.foodygo.dto.internal.MenuSnapshot;
+import com.foodygo.entity.*;
+import com.foodygo.exception.ElementNotFoundException;
+import com.foodygo.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves each restaurant menu as one precomputed, gzip compressed JSON document kept in Redis.
+ * A document is built with four queries, one per level of the menu, and is rebuilt for that restaurant alone once a change
+ * to one of its categories, products, addon sections or addon items commits.
+ * Every committed change bumps a per-restaurant generation, and a rebuilt document is stored only if the generation is still
+ * the one read before the rebuild queried the database, so a slow rebuild cannot overwrite a newer document with a stale one.
+ */
+@Slf4j
+@Service
+public class MenuServiceImpl implements MenuService {
+
+    private static final String KEY_PREFIX = "menu:";
+    private static final String GENERATION_SUFFIX = ":generation";
+    private static final byte[] ETAG_FIELD = "etag".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_FIELD = "body".getBytes(StandardCharsets.UTF_8);
+    private static final RedisScript<Long> PATCH_SCRIPT = RedisScript.of(new ClassPathResource("scripts/menu/patch.lua"), Long.class);
+    private static final RedisScript<Long> WRITE_SCRIPT = RedisScript.of(new ClassPathResource("scripts/menu/write.lua"), Long.class);
+
+    private final RestaurantRepository restaurantRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final AddonTreeReader addonTreeReader;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final Duration ttl;
+
+    public MenuServiceImpl(RestaurantRepository restaurantRepository, CategoryRepository categoryRepository,
+                           ProductRepository productRepository, AddonTreeReader addonTreeReader, StringRedisTemplate stringRedisTemplate,
+                           ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                           @Value("${application.cache.menu.ttl-seconds}") long ttlSeconds) {
+        this.restaurantRepository = restaurantRepository;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.addonTreeReader = addonTreeReader;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        // rebuilds run after the writing transaction committed, so they need a transaction of their own
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public MenuSnapshot getMenu(Integer restaurantId) {
+        MenuSnapshot snapshot = read(restaurantId);
+        return snapshot != null ? snapshot : rebuild(restaurantId);
+    }
+
+    @Override
+    public void invalidate(Integer restaurantId) {
+        if (restaurantId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(restaurantId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(restaurantId);
+            }
+        });
+    }
+
+    @Override
+    public void invalidate(Product product) {
+        if (product != null && product.getRestaurant() != null) {
+            invalidate(product.getRestaurant().getId());
+        }
+    }
+
+    @Override
+    public void invalidate(Category category) {
+        if (category != null && category.getRestaurant() != null) {
+            invalidate(category.getRestaurant().getId());
+        }
+    }
+
+    @Override
+    public void invalidate(AddonSection addonSection) {
+        if (addonSection != null) {
+            invalidate(addonSection.getProduct());
+        }
+    }
+
+    @Override
+    public void invalidate(AddonItem addonItem) {
+        if (addonItem != null) {
+            invalidate(addonItem.getSection());
+        }
+    }
+
+    /**
+     * Flips the availability of some products in the cached document instead of rebuilding it. The document is replaced only
+     * if it did not change in the meantime, otherwise, or on any failure, it is rebuilt. A menu that is not cached is not rebuilt,
+     * but its generation is still bumped, as a rebuild already running may have read the products before the change.
+     */
+    @Override
+    public void patchAvailability(Integer restaurantId, Collection<Integer> productIds, boolean available) {
+        MenuSnapshot snapshot = read(restaurantId);
+        if (snapshot == null) {
+            try {
+                discard(restaurantId);
+            } catch (Exception e) {
+                log.warn("Cannot discard menu of restaurant {}: {}", restaurantId, e.toString());
+            }
+            return;
+        }
+        try {
+            MenuDTO menu = objectMapper.readValue(snapshot.body(), MenuDTO.class);
+            Set<Integer> ids = Set.copyOf(productIds);
+            List<MenuDTO.MenuCategory> categories = menu.categories().stream()
+                    .map(category -> new MenuDTO.MenuCategory(category.id(), category.name(), category.description(),
+                            category.products().stream()
+                                    .map(product -> ids.contains(product.id()) ? withAvailability(product, available) : product)
+                                    .toList()))
+                    .toList();
+            MenuSnapshot patched = serialize(new MenuDTO(menu.restaurantId(), menu.restaurantName(), menu.restaurantImage(),
+                    menu.available(), categories));
+            Long replaced = stringRedisTemplate.execute(PATCH_SCRIPT, RedisSerializer.byteArray(),
+                    new GenericToStringSerializer<>(Long.class), List.of(KEY_PREFIX + restaurantId, KEY_PREFIX + restaurantId + GENERATION_SUFFIX),
+                    bytes(snapshot.etag()), bytes(patched.etag()), patched.gzippedBody(), bytes(ttl.toSeconds()));
+            if (replaced == null || replaced == 0) {
+                refresh(restaurantId);
+            }
+        } catch (Exception e) {
+            log.warn("Cannot patch menu of restaurant {}: {}", restaurantId, e.toString());
+            refresh(restaurantId);
+        }
+    }
+
+    private static ProductDTO withAvailability(ProductDTO product, boolean available) {
+        return new ProductDTO(product.id(), product.code(), product.name(), product.price(), product.description(),
+                product.prepareTime(), available, product.addonSections());
+    }
+
+    private static byte[] bytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // the old document is dropped first, so a failed rebuild falls back to building on the next read instead of serving it
+    private void refresh(Integer restaurantId) {
+        try {
+            discard(restaurantId);
+            rebuild(restaurantId);
+        } catch (ElementNotFoundException e) {
+            log.info("Restaurant {} is gone, its menu is not rebuilt", restaurantId);
+        } catch (Exception e) {
+            log.warn("Cannot rebuild menu of restaurant {}: {}", restaurantId, e.toString());
+        }
+    }
+
+    // the new generation fails the write of a rebuild already running, the delete drops a document one wrote just before
+    private void discard(Integer restaurantId) {
+        stringRedisTemplate.opsForValue().increment(KEY_PREFIX + restaurantId + GENERATION_SUFFIX);
+        stringRedisTemplate.delete(KEY_PREFIX + restaurantId);
+    }
+
+    private MenuSnapshot rebuild(Integer restaurantId) {
+        String generation = readGeneration(restaurantId);
+        MenuDTO menu = readTransaction.execute(status -> build(restaurantId));
+        MenuSnapshot snapshot = serialize(menu);
+        if (generation != null) {
+            write(restaurantId, generation, snapshot);
+        }
+        return snapshot;
+    }
+
+    private MenuDTO build(Integer restaurantId) {
+        Restaurant restaurant = restaurantRepository.findByIdAndDeletedFalse(restaurantId)
+                .orElseThrow(() -> new ElementNotFoundException("Restaurant not found with id " + restaurantId));
+        List<Category> categories = categoryRepository.findByRestaurantIdAndDeletedFalse(restaurantId);
+        List<Product> products = productRepository.findByRestaurantIdAndDeletedFalse(restaurantId);
+        List<Integer> productIds = products.stream().map(Product::getId).toList();
+
+        // everything is ordered by id, so an unchanged menu serializes to the same bytes and keeps its entity tag
+        Map<Integer, List<ProductDTO.AddonSection>> sectionsByProduct = addonTreeReader.read(productIds);
+
+        Map<Integer, List<ProductDTO>> productsByCategory = new HashMap<>();
+        List<ProductDTO> uncategorized = new ArrayList<>();
+        products.stream().sorted(Comparator.comparing(Product::getId)).forEach(product -> {
+            ProductDTO productDTO = ProductDTO.builder()
+                    .id(product.getId())
+                    .code(product.getCode())
+                    .name(product.getName())
+                    .price(product.getPrice())
+                    .description(product.getDescription())
+                    .prepareTime(product.getPrepareTime())
+                    .available(product.isAvailable())
+                    .addonSections(sectionsByProduct.getOrDefault(product.getId(), List.of()))
+                    .build();
+            Category category = product.getCategory();
+            if (category == null || category.isDeleted()) {
+                uncategorized.add(productDTO);
+            } else {
+                productsByCategory.computeIfAbsent(category.getId(), id -> new ArrayList<>()).add(productDTO);
+            }
+        });
+
+        List<MenuDTO.MenuCategory> menuCategories = new ArrayList<>();
+        categories.stream().sorted(Comparator.comparing(Category::getId)).forEach(category -> menuCategories.add(
+                new MenuDTO.MenuCategory(category.getId(), category.getName(), category.getDescription(),
+                        productsByCategory.getOrDefault(category.getId(), List.of()))));
+        if (!uncategorized.isEmpty()) {
+            menuCategories.add(new MenuDTO.MenuCategory(null, null, null, uncategorized));
+        }
+
+        return MenuDTO.builder()
+                .restaurantId(restaurant.getId())
+                .restaurantName(restaurant.getName())
+                .restaurantImage(restaurant.getImage())
+                .available(restaurant.isAvailable())
+                .categories(menuCategories)
+                .build();
+    }
+
+    private MenuSnapshot serialize(MenuDTO menu) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(menu);
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+                out.write(json);
+            }
+            return new MenuSnapshot(etag(json), gzipped.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize menu of restaurant " + menu.restaurantId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MenuSnapshot read(Integer restaurantId) {
+        byte[] key = (KEY_PREFIX + restaurantId).getBytes(StandardCharsets.UTF_8);
+        try {
+            List<byte[]> fields = stringRedisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.hashCommands().hMGet(key, ETAG_FIELD, BODY_FIELD));
+            if (fields == null || fields.size() < 2 || fields.get(0) == null || fields.get(1) == null) {
+                return null;
+            }
+            return new MenuSnapshot(new String(fields.get(0), StandardCharsets.UTF_8), fields.get(1));
+        } catch (Exception e) {
+            log.warn("Cannot read menu of restaurant {} from redis: {}", restaurantId, e.toString());
+            return null;
+        }
+    }
+
+    // null when Redis cannot be reached, the rebuilt document is then served without being stored
+    private String readGeneration(Integer restaurantId) {
+        try {
+            String generation = stringRedisTemplate.opsForValue().get(KEY_PREFIX + restaurantId + GENERATION_SUFFIX);
+            return generation == null ? "0" : generation;
+        } catch (Exception e) {
+            log.warn("Cannot read menu generation of restaurant {} from redis: {}", restaurantId, e.toString());
+            return null;
+        }
+    }
+
+    private void write(Integer restaurantId, String generation, MenuSnapshot snapshot) {
+        try {
+            stringRedisTemplate.execute(WRITE_SCRIPT, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                    List.of(KEY_PREFIX + restaurantId, KEY_PREFIX + restaurantId + GENERATION_SUFFIX),
+                    bytes(generation), bytes(snapshot.etag()), snapshot.gzippedBody(), bytes(ttl.toSeconds()));
+        } catch (Exception e) {
+            log.warn("Cannot write menu of restaurant {} to redis: {}", restaurantId, e.toString());
+        }
+    }
+}
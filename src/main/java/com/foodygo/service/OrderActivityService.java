@@ -1,5 +1,7 @@
 package com.foodygo.service;
 
+import com.foodygo.dto.internal.FeedCursor;
+import com.foodygo.dto.response.CursorResponse;
 import com.foodygo.dto.response.OrderActivityResponse;
 import com.foodygo.enums.OrderStatus;
 import org.springframework.data.domain.Page;
@@ -8,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 public interface OrderActivityService {
     void logOrderStatusChange(Integer orderId, Integer userId, OrderStatus fromStatus, OrderStatus toStatus, String image);
     Page<OrderActivityResponse> getOrderActivitiesByOrderId(Integer orderId, Pageable pageable);
+    CursorResponse getOrderActivityFeed(Integer orderId, FeedCursor after, int limit);
 
     void deleteOrderActivitiesByOrderId(Integer orderId);
 }
@@ -1,5 +1,7 @@
 package com.foodygo.service;
 
+import com.foodygo.dto.internal.FeedCursor;
+import com.foodygo.dto.response.CursorResponse;
 import com.foodygo.dto.response.OrderActivityResponse;
 import com.foodygo.entity.Order;
 import com.foodygo.entity.OrderActivity;
@@ -13,6 +15,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -53,6 +56,13 @@ public class OrderActivityServiceImpl implements OrderActivityService {
         return activities.map(orderActivityMapper::toDto);
     }
 
+    @Override
+    public CursorResponse getOrderActivityFeed(Integer orderId, FeedCursor after, int limit) {
+        Slice<OrderActivityResponse> activities = orderActivityRepository.findFeedByOrderId(orderId, after.time(), after.id(), FeedCursor.limit(limit));
+        OrderActivityResponse last = activities.hasContent() ? activities.getContent().get(activities.getNumberOfElements() - 1) : null;
+        return CursorResponse.of(activities.getContent(), activities.hasNext(), last == null ? null : new FeedCursor(last.getId(), last.getTime()));
+    }
+
     @Override
     public void deleteOrderActivitiesByOrderId(Integer orderId) {
         orderActivityRepository.deleteByOrderId(orderId);
@@ -1,14 +1,21 @@
 package com.foodygo.service;
 
+import com.foodygo.dto.cart.CartItem;
+import com.foodygo.dto.internal.FeedCursor;
+import com.foodygo.dto.request.CheckoutRequest;
 import com.foodygo.dto.request.OrderCreateRequest;
 import com.foodygo.dto.request.OrderUpdateRequest;
+import com.foodygo.dto.response.CursorResponse;
 import com.foodygo.dto.response.OrderResponse;
 import com.foodygo.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface OrderService {
     OrderResponse createOrder(OrderCreateRequest orderCreateRequest);
+    OrderResponse checkout(Integer userId, List<CartItem> cartItems, CheckoutRequest checkoutRequest);
     OrderResponse updateOrder(Integer orderId, OrderUpdateRequest orderUpdateRequest);
     OrderResponse getOrderResponseById(Integer id);
     Order getOrderById(Integer id);
@@ -17,4 +24,8 @@ public interface OrderService {
     Page<OrderResponse> getAllOrdersByEmployeeId(Integer employeeId, Pageable pageable);
     Page<OrderResponse> getAllOrdersByCustomerId(Integer customerId, Pageable pageable);
     Page<OrderResponse> getAllOrdersByRestaurantId(Integer restaurantId, Pageable pageable);
+    CursorResponse getOrderFeed(FeedCursor after, int limit);
+    CursorResponse getOrderFeedByEmployeeId(Integer employeeId, FeedCursor after, int limit);
+    CursorResponse getOrderFeedByCustomerId(Integer customerId, FeedCursor after, int limit);
+    CursorResponse getOrderFeedByRestaurantId(Integer restaurantId, FeedCursor after, int limit);
 }
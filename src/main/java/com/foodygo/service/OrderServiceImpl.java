@@ -1,29 +1,46 @@
 package com.foodygo.service;
 
+import com.foodygo.dto.cart.CartAddOnItem;
+import com.foodygo.dto.cart.CartItem;
+import com.foodygo.dto.internal.CheckoutCustomer;
+import com.foodygo.dto.internal.FeedCursor;
+import com.foodygo.dto.internal.OrderRow;
+import com.foodygo.dto.internal.ProductPrice;
+import com.foodygo.dto.request.CheckoutRequest;
 import com.foodygo.dto.request.OrderCreateRequest;
 import com.foodygo.dto.request.OrderDetailCreateRequest;
 import com.foodygo.dto.request.OrderUpdateRequest;
+import com.foodygo.dto.response.CursorResponse;
 import com.foodygo.dto.response.OrderDetailResponse;
 import com.foodygo.dto.response.OrderResponse;
 import com.foodygo.entity.Order;
 import com.foodygo.entity.OrderDetail;
 import com.foodygo.entity.Product;
 import com.foodygo.enums.OrderStatus;
+import com.foodygo.exception.ElementNotFoundException;
 import com.foodygo.exception.IdNotFoundException;
 import com.foodygo.mapper.OrderDetailMapper;
 import com.foodygo.mapper.OrderMapper;
+import com.foodygo.repository.CustomerRepository;
+import com.foodygo.repository.HubRepository;
 import com.foodygo.repository.OrderDetailRepository;
 import com.foodygo.repository.OrderRepository;
+import com.foodygo.repository.ProductRepository;
+import com.foodygo.repository.RestaurantRepository;
 import com.foodygo.utils.QuanTest_FirebaseStorageService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,6 +58,11 @@ public class OrderServiceImpl implements OrderService {
     private final HubService hubService;
     private final OrderRepository orderRepository;
     private final OrderDetailRepository orderDetailRepository;
+    private final CustomerRepository customerRepository;
+    private final HubRepository hubRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final ProductRepository productRepository;
+    private final PricingService pricingService;
 
     @Override
     @Transactional
@@ -48,8 +70,8 @@ public class OrderServiceImpl implements OrderService {
         Order order = OrderMapper.INSTANCE.toEntity(orderCreateRequest);
         order.setEmployee(userService.findById(orderCreateRequest.getEmployeeId()));
         order.setCustomer(customerService.findById(orderCreateRequest.getCustomerId()));
-        order.setRestaurant(restaurantService.getRestaurantById(orderCreateRequest.getRestaurantId()));
-        order.setHub(hubService.getHubById(orderCreateRequest.getHubId()));
+        order.setRestaurant(restaurantService.getRestaurantReference(orderCreateRequest.getRestaurantId()));
+        order.setHub(hubService.getHubReference(orderCreateRequest.getHubId()));
         order.setStatus(OrderStatus.ORDERED);
         orderRepository.save(order);
 
@@ -83,6 +105,107 @@ public class OrderServiceImpl implements OrderService {
         return orderResponse;
     }
 
+    /**
+     * Turns priced cart lines into an order with a fixed number of statements whatever the line count:
+     * the customer lookup, the hub lookup, the order insert and one insert batch for the details at flush.
+     * Prices and restaurants come from the pricing snapshot, related entities are referenced without being loaded.
+     * The price of a detail is the line total, product and add-ons included.
+     */
+    @Override
+    @Transactional
+    public OrderResponse checkout(Integer userId, List<CartItem> cartItems, CheckoutRequest checkoutRequest) {
+        if (cartItems.isEmpty()) {
+            throw new ElementNotFoundException("Cart is empty");
+        }
+        Integer restaurantId = null;
+        List<CartItem> pricedItems = new ArrayList<>(cartItems.size());
+        for (CartItem cartItem : cartItems) {
+            ProductPrice product = pricingService.getProduct(cartItem.getProductId());
+            if (!pricedItems.isEmpty() && !Objects.equals(restaurantId, product.restaurantId())) {
+                throw new ElementNotFoundException("All products of an order must come from the same restaurant");
+            }
+            restaurantId = product.restaurantId();
+            pricedItems.add(pricingService.price(cartItem));
+        }
+
+        CheckoutCustomer customer = customerRepository.findCheckoutCustomerByUserId(userId)
+                .orElseThrow(() -> new ElementNotFoundException("Customer not found with user id " + userId));
+        String hubName = hubRepository.findNameById(checkoutRequest.getHubId())
+                .orElseThrow(() -> new ElementNotFoundException("Hub not found with id " + checkoutRequest.getHubId()));
+
+        double shippingFee = checkoutRequest.getShippingFee() == null ? 0 : checkoutRequest.getShippingFee();
+        double serviceFee = checkoutRequest.getServiceFee() == null ? 0 : checkoutRequest.getServiceFee();
+        double subtotal = pricedItems.stream().mapToDouble(OrderServiceImpl::lineTotal).sum();
+
+        Order order = Order.builder()
+                .time(LocalDateTime.now())
+                .shippingFee(shippingFee)
+                .serviceFee(serviceFee)
+                .totalPrice(subtotal + shippingFee + serviceFee)
+                .status(OrderStatus.ORDERED)
+                .expectedDeliveryTime(checkoutRequest.getExpectedDeliveryTime())
+                .customerPhone(checkoutRequest.getCustomerPhone())
+                .notes(checkoutRequest.getNotes())
+                .customer(customerRepository.getReferenceById(customer.id()))
+                .restaurant(restaurantId == null ? null : restaurantRepository.getReferenceById(restaurantId))
+                .hub(hubRepository.getReferenceById(checkoutRequest.getHubId()))
+                .build();
+        orderRepository.save(order);
+
+        List<OrderDetail> orderDetails = pricedItems.stream()
+                .map(item -> OrderDetail.builder()
+                        .quantity(item.getQuantity())
+                        .price(lineTotal(item))
+                        .addonItems(describeAddOns(item.getCartAddOnItems()))
+                        .product(productRepository.getReferenceById(item.getProductId()))
+                        .order(order)
+                        .build())
+                .toList();
+        orderDetailRepository.saveAll(orderDetails);
+
+        List<OrderDetailResponse> orderDetailResponses = new ArrayList<>(pricedItems.size());
+        for (int i = 0; i < orderDetails.size(); i++) {
+            OrderDetail orderDetail = orderDetails.get(i);
+            orderDetailResponses.add(OrderDetailResponse.builder()
+                    .id(orderDetail.getId())
+                    .orderId(order.getId())
+                    .quantity(orderDetail.getQuantity())
+                    .price(orderDetail.getPrice())
+                    .addonItems(orderDetail.getAddonItems())
+                    .productName(pricedItems.get(i).getProductName())
+                    .build());
+        }
+
+        return OrderResponse.builder()
+                .id(order.getId())
+                .shippingFee(order.getShippingFee())
+                .serviceFee(order.getServiceFee())
+                .totalPrice(order.getTotalPrice())
+                .status(order.getStatus().name())
+                .expectedDeliveryTime(order.getExpectedDeliveryTime())
+                .time(order.getTime())
+                .customerPhone(order.getCustomerPhone())
+                .notes(order.getNotes())
+                .customerName(customer.fullName())
+                .hubName(hubName)
+                .orderDetails(orderDetailResponses)
+                .build();
+    }
+
+    private static double lineTotal(CartItem item) {
+        return item.getPrice() * item.getQuantity()
+                + item.getCartAddOnItems().stream().mapToDouble(a -> a.getPrice() * a.getQuantity()).sum();
+    }
+
+    private static String describeAddOns(List<CartAddOnItem> addOnItems) {
+        if (addOnItems.isEmpty()) {
+            return null;
+        }
+        return addOnItems.stream()
+                .map(a -> a.getAddOnItemName() + " x" + a.getQuantity())
+                .collect(Collectors.joining(", "));
+    }
+
     @Override
     @Transactional
     public OrderResponse updateOrder(Integer orderId, OrderUpdateRequest orderUpdateRequest) {
@@ -191,37 +314,70 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public Page<OrderResponse> getAllOrders(Pageable pageable) {
-        Page<Order> orders = orderRepository.findAll(pageable);
-        return getOrderResponses(orders);
+        return getOrderResponses(orderRepository.findAllRows(pageable));
     }
 
     @Override
     public Page<OrderResponse> getAllOrdersByEmployeeId(Integer employeeId, Pageable pageable) {
-        Page<Order> orders = orderRepository.findOrdersByEmployeeId(employeeId, pageable);
-        return getOrderResponses(orders);
+        return getOrderResponses(orderRepository.findRowsByEmployeeId(employeeId, pageable));
+    }
+
+    // one query for the page of flat order rows and one for the details of every order on it
+    private Page<OrderResponse> getOrderResponses(Page<OrderRow> orders) {
+        Map<Integer, List<OrderDetailResponse>> orderDetails = getOrderDetails(orders.getContent());
+        return orders.map(order -> toOrderResponse(order, orderDetails));
     }
 
-    private Page<OrderResponse> getOrderResponses(Page<Order> orders) {
-        return orders.map(order -> {
-            OrderResponse orderResponse = OrderMapper.INSTANCE.toDto(order);
-            List<OrderDetailResponse> orderDetailResponses = order.getOrderDetails().stream()
-                    .map(OrderDetailMapper.INSTANCE::toDto)
-                    .collect(Collectors.toList());
+    private CursorResponse getOrderFeed(Slice<OrderRow> orders) {
+        Map<Integer, List<OrderDetailResponse>> orderDetails = getOrderDetails(orders.getContent());
+        List<OrderResponse> orderResponses = orders.getContent().stream()
+                .map(order -> toOrderResponse(order, orderDetails))
+                .toList();
+        OrderRow last = orders.hasContent() ? orders.getContent().get(orders.getNumberOfElements() - 1) : null;
+        return CursorResponse.of(orderResponses, orders.hasNext(), last == null ? null : new FeedCursor(last.id(), last.createdAt()));
+    }
 
-            orderResponse.setOrderDetails(orderDetailResponses);
-            return orderResponse;
-        });
+    private Map<Integer, List<OrderDetailResponse>> getOrderDetails(List<OrderRow> orders) {
+        if (orders.isEmpty()) {
+            return Map.of();
+        }
+        return orderDetailRepository.findResponsesByOrderIds(orders.stream().map(OrderRow::id).toList()).stream()
+                .collect(Collectors.groupingBy(OrderDetailResponse::getOrderId));
+    }
+
+    private OrderResponse toOrderResponse(OrderRow order, Map<Integer, List<OrderDetailResponse>> orderDetails) {
+        OrderResponse orderResponse = OrderMapper.INSTANCE.toDto(order);
+        orderResponse.setOrderDetails(orderDetails.getOrDefault(order.id(), List.of()));
+        return orderResponse;
     }
 
     @Override
     public Page<OrderResponse> getAllOrdersByCustomerId(Integer customerId, Pageable pageable) {
-        Page<Order> orders = orderRepository.findByCustomerId(customerId, pageable);
-        return getOrderResponses(orders);
+        return getOrderResponses(orderRepository.findRowsByCustomerId(customerId, pageable));
     }
 
     @Override
     public Page<OrderResponse> getAllOrdersByRestaurantId(Integer restaurantId, Pageable pageable) {
-        Page<Order> orders = orderRepository.findByRestaurantId(restaurantId, pageable);
-        return getOrderResponses(orders);
+        return getOrderResponses(orderRepository.findRowsByRestaurantId(restaurantId, pageable));
+    }
+
+    @Override
+    public CursorResponse getOrderFeed(FeedCursor after, int limit) {
+        return getOrderFeed(orderRepository.findFeed(after.time(), after.id(), FeedCursor.limit(limit)));
+    }
+
+    @Override
+    public CursorResponse getOrderFeedByEmployeeId(Integer employeeId, FeedCursor after, int limit) {
+        return getOrderFeed(orderRepository.findFeedByEmployeeId(employeeId, after.time(), after.id(), FeedCursor.limit(limit)));
+    }
+
+    @Override
+    public CursorResponse getOrderFeedByCustomerId(Integer customerId, FeedCursor after, int limit) {
+        return getOrderFeed(orderRepository.findFeedByCustomerId(customerId, after.time(), after.id(), FeedCursor.limit(limit)));
+    }
+
+    @Override
+    public CursorResponse getOrderFeedByRestaurantId(Integer restaurantId, FeedCursor after, int limit) {
+        return getOrderFeed(orderRepository.findFeedByRestaurantId(restaurantId, after.time(), after.id(), FeedCursor.limit(limit)));
     }
 }
@@ -0,0 +1,27 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.cart.CartItem;
+import com.foodygo.dto.internal.ProductPrice;
+import com.foodygo.entity.AddonItem;
+import com.foodygo.entity.Product;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+
+@Service
+public interface PricingService {
+    CartItem price(CartItem cartItem);
+
+    ProductPrice getProduct(Integer productId);
+
+    void refreshProduct(Product product);
+
+    void refreshAddonItem(AddonItem addonItem);
+
+    void invalidate(Collection<Integer> productIds, Collection<Integer> addonItemIds);
+
+    // drops the prices on this instance only, for changes every instance hears about anyway
+    void evictLocal(Collection<Integer> productIds, Collection<Integer> addonItemIds);
+
+    long getVersion();
+}
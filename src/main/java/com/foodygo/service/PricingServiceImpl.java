@@ -0,0 +1,211 @@
+package com.foodygo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodygo.dto.cart.CartAddOnItem;
+import com.foodygo.dto.cart.CartItem;
+import com.foodygo.dto.internal.AddonPrice;
+import com.foodygo.dto.internal.PriceInvalidation;
+import com.foodygo.dto.internal.ProductPrice;
+import com.foodygo.entity.AddonItem;
+import com.foodygo.entity.Product;
+import com.foodygo.exception.ElementNotFoundException;
+import com.foodygo.repository.AddonItemRepository;
+import com.foodygo.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prices cart lines from an in-memory snapshot of product and add-on prices, so the client supplied prices are never trusted
+ * and pricing a cart does not touch the database.
+ * The snapshot is loaded once the application is ready. Every change of a product or an add-on is announced over Redis pub/sub
+ * once it has committed, and every instance, this one included, drops the entry and bumps {@link #getVersion()}.
+ * Dropped and unknown ids are loaded from the database on first use.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PricingServiceImpl implements PricingService, MessageListener {
+
+    private static final String CHANNEL = "pricing:invalidate";
+
+    private final ProductRepository productRepository;
+    private final AddonItemRepository addonItemRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Integer, ProductPrice> products = new ConcurrentHashMap<>();
+    private final Map<Integer, AddonPrice> addons = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        List<ProductPrice> productPrices = productRepository.findAllPrices();
+        List<AddonPrice> addonPrices = addonItemRepository.findAllPrices();
+        products.clear();
+        addons.clear();
+        productPrices.forEach(price -> products.put(price.id(), price));
+        addonPrices.forEach(price -> addons.put(price.id(), price));
+        version.incrementAndGet();
+        log.info("Loaded price snapshot with {} products and {} addon items", products.size(), addons.size());
+    }
+
+    @Override
+    public CartItem price(CartItem cartItem) {
+        requirePositive(cartItem.getQuantity());
+        ProductPrice product = getProduct(cartItem.getProductId());
+        List<CartAddOnItem> addOnItems = new ArrayList<>();
+        if (cartItem.getCartAddOnItems() != null) {
+            for (CartAddOnItem addOnItem : cartItem.getCartAddOnItems()) {
+                requirePositive(addOnItem.getQuantity());
+                AddonPrice addon = getAddonPrice(addOnItem.getAddOnItemId());
+                if (addon == null || (addon.productId() != null && !addon.productId().equals(product.id()))) {
+                    throw new ElementNotFoundException("Addon Item Not Found with id: " + addOnItem.getAddOnItemId());
+                }
+                addOnItems.add(new CartAddOnItem(addon.id(), addon.name(), priceOf(addon.price()), addOnItem.getQuantity()));
+            }
+        }
+        return new CartItem(product.id(), product.name(), priceOf(product.price()), cartItem.getQuantity(), addOnItems);
+    }
+
+    @Override
+    public ProductPrice getProduct(Integer productId) {
+        ProductPrice product = getProductPrice(productId);
+        if (product == null || !product.available()) {
+            throw new ElementNotFoundException("Product not found with id " + productId);
+        }
+        return product;
+    }
+
+    @Override
+    public void refreshProduct(Product product) {
+        invalidate(List.of(product.getId()), List.of());
+    }
+
+    @Override
+    public void refreshAddonItem(AddonItem addonItem) {
+        invalidate(List.of(), List.of(addonItem.getId()));
+    }
+
+    // the dropped prices are reloaded on first use, after the surrounding transaction has committed if there is one
+    @Override
+    public void invalidate(Collection<Integer> productIds, Collection<Integer> addonItemIds) {
+        PriceInvalidation invalidation = new PriceInvalidation(List.copyOf(productIds), List.copyOf(addonItemIds));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(invalidation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(invalidation);
+            }
+        });
+    }
+
+    @Override
+    public void evictLocal(Collection<Integer> productIds, Collection<Integer> addonItemIds) {
+        productIds.forEach(products::remove);
+        addonItemIds.forEach(addons::remove);
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            PriceInvalidation invalidation = objectMapper.readValue(message.getBody(), PriceInvalidation.class);
+            evictLocal(invalidation.productIds(), invalidation.addonItemIds());
+        } catch (IOException e) {
+            log.warn("Cannot read price invalidation {}: {}", new String(message.getBody(), StandardCharsets.UTF_8), e.toString());
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    // this instance drops its copies right away, the others when the message arrives
+    private void publish(PriceInvalidation invalidation) {
+        evictLocal(invalidation.productIds(), invalidation.addonItemIds());
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(invalidation));
+        } catch (Exception e) {
+            log.warn("Cannot announce price changes of products {} and addon items {}: {}",
+                    invalidation.productIds(), invalidation.addonItemIds(), e.toString());
+        }
+    }
+
+    private ProductPrice getProductPrice(Integer productId) {
+        if (productId == null) {
+            return null;
+        }
+        ProductPrice price = products.get(productId);
+        if (price == null) {
+            long loadedAt = version.get();
+            price = productRepository.findPriceById(productId).orElse(null);
+            if (price != null) {
+                products.put(productId, price);
+                // an invalidation that arrived while loading may concern the value just read
+                if (version.get() != loadedAt) {
+                    products.remove(productId);
+                }
+            }
+        }
+        return price;
+    }
+
+    private AddonPrice getAddonPrice(Integer addonItemId) {
+        if (addonItemId == null) {
+            return null;
+        }
+        AddonPrice price = addons.get(addonItemId);
+        if (price == null) {
+            long loadedAt = version.get();
+            price = addonItemRepository.findPriceById(addonItemId).orElse(null);
+            if (price != null) {
+                addons.put(addonItemId, price);
+                if (version.get() != loadedAt) {
+                    addons.remove(addonItemId);
+                }
+            }
+        }
+        return price;
+    }
+
+    // a missing or negative quantity would reach the cart scripts and the order totals as is
+    private static void requirePositive(Integer quantity) {
+        if (quantity == null || quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+    }
+
+    private static double priceOf(Double price) {
+        return price == null ? 0 : price;
+    }
+}
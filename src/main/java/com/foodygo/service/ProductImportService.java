@@ -0,0 +1,12 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.response.ProductImportResponse;
+import com.foodygo.enums.ImportFormat;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ProductImportResponse importProducts(Integer restaurantId, InputStream input, ImportFormat format);
+
+}
@@ -0,0 +1,446 @@
+package com.foodygo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.foodygo.cache.CacheNames;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.dto.internal.ImportBatchResult;
+import com.foodygo.dto.request.ProductImportRow;
+import com.foodygo.dto.response.ProductImportResponse;
+import com.foodygo.enums.ImportFormat;
+import com.foodygo.enums.SearchType;
+import com.foodygo.search.SearchIndexChangedEvent;
+import com.foodygo.utils.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams a product upload, validates every product and hands the valid ones to {@link ProductImportWriter} in batches.
+ * Invalid products are reported with their line and skipped, a batch that fails in the database is reported as a whole.
+ * Caches are invalidated once per written batch.
+ * <p>
+ * CSV uploads have a header row with the columns {@link #CSV_COLUMNS}, only {@code code} is mandatory. A product with addons
+ * spans consecutive rows with the same code: product columns are read from the first row, and every row may add one addon
+ * item to the addon section it names. NDJSON uploads have one {@link ProductImportRow} per line.
+ */
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("code", "name", "price", "description", "prepareTime", "available",
+            "category", "addonSection", "addonMaxChoice", "addonRequired", "addonItem", "addonItemPrice", "addonItemQuantity");
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final RestaurantService restaurantService;
+    private final ProductImportWriter productImportWriter;
+    private final PricingService pricingService;
+    private final MenuService menuService;
+    private final NearCacheManager nearCacheManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectReader rowReader;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ProductImportServiceImpl(RestaurantService restaurantService, ProductImportWriter productImportWriter,
+                                    PricingService pricingService, MenuService menuService, NearCacheManager nearCacheManager,
+                                    ApplicationEventPublisher applicationEventPublisher, ObjectMapper objectMapper,
+                                    @Value("${application.product-import.batch-size}") int batchSize,
+                                    @Value("${application.product-import.max-errors}") int maxErrors) {
+        this.restaurantService = restaurantService;
+        this.productImportWriter = productImportWriter;
+        this.pricingService = pricingService;
+        this.menuService = menuService;
+        this.nearCacheManager = nearCacheManager;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.rowReader = objectMapper.readerFor(ProductImportRow.class);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public ProductImportResponse importProducts(Integer restaurantId, InputStream input, ImportFormat format) {
+        restaurantService.getRestaurantDTOById(restaurantId);
+        Import job = new Import(restaurantId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == ImportFormat.CSV) {
+                readCsv(reader, job);
+            } else {
+                readNdjson(reader, job);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read product import", e);
+        } finally {
+            flush(job);
+        }
+        return ProductImportResponse.builder()
+                .restaurantId(restaurantId)
+                .totalRows(job.total)
+                .created(job.created)
+                .updated(job.updated)
+                .failed(job.failed)
+                .errors(job.errors)
+                .errorsTruncated(job.failed > job.errors.size())
+                .build();
+    }
+
+    private void readNdjson(BufferedReader reader, Import job) throws IOException {
+        String text;
+        int line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            ProductImportRow row;
+            try {
+                row = rowReader.readValue(text);
+            } catch (JsonProcessingException e) {
+                job.total++;
+                job.fail(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            // a line holding just null parses fine, but is no product
+            if (row == null) {
+                job.total++;
+                job.fail(line, null, "Invalid row: expected a JSON object");
+                continue;
+            }
+            accept(job, line, row);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Import job) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        Map<String, Integer> columns = readHeader(csv.next());
+        CsvProduct current = null;
+        String skippedCode = null;
+        List<String> record;
+        while ((record = nextRecord(csv, job)) != null) {
+            String code = field(record, columns, "code");
+            if (current != null && code != null && code.equals(current.code)) {
+                try {
+                    current.addAddon(record, columns);
+                } catch (IllegalArgumentException e) {
+                    job.total++;
+                    job.fail(csv.getLine(), code, e.getMessage());
+                    skippedCode = code;
+                    current = null;
+                }
+                continue;
+            }
+            if (code != null && code.equals(skippedCode)) {
+                continue;
+            }
+            if (current != null) {
+                accept(job, current.line, current.toRow());
+                current = null;
+            }
+            try {
+                current = new CsvProduct(csv.getLine(), record, columns);
+                skippedCode = null;
+            } catch (IllegalArgumentException e) {
+                job.total++;
+                job.fail(csv.getLine(), code, e.getMessage());
+                skippedCode = code;
+            }
+        }
+        if (current != null) {
+            accept(job, current.line, current.toRow());
+        }
+    }
+
+    // a malformed record ends the upload, everything before it is still imported
+    private List<String> nextRecord(CsvReader csv, Import job) throws IOException {
+        try {
+            return csv.next();
+        } catch (IllegalArgumentException e) {
+            job.total++;
+            job.fail(csv.getLine(), null, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The upload is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip();
+            // a UTF-8 byte order mark is not part of the first column name
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("Unknown column " + name + ", expected " + CSV_COLUMNS);
+            }
+            columns.put(name, i);
+        }
+        if (!columns.containsKey("code")) {
+            throw new IllegalArgumentException("The header has no code column");
+        }
+        return columns;
+    }
+
+    private void accept(Import job, int line, ProductImportRow row) {
+        job.total++;
+        String error = validate(row, job.codes);
+        if (error != null) {
+            job.fail(line, row.code(), error);
+            return;
+        }
+        job.batch.add(new Line(line, row));
+        if (job.batch.size() >= batchSize) {
+            flush(job);
+        }
+    }
+
+    private void flush(Import job) {
+        if (job.batch.isEmpty()) {
+            return;
+        }
+        try {
+            ImportBatchResult result = productImportWriter.write(job.restaurantId, job.batch.stream().map(Line::row).toList());
+            job.created += result.created();
+            job.updated += result.updated();
+            invalidate(job.restaurantId, result);
+        } catch (DataAccessException e) {
+            log.warn("Cannot write product import batch of restaurant {}: {}", job.restaurantId, e.toString());
+            String message = "Batch not saved: " + e.getMostSpecificCause().getMessage();
+            job.batch.forEach(line -> job.fail(line.number(), line.row().code(), message));
+        }
+        job.batch.clear();
+    }
+
+    // the batch has committed, everything derived from the written rows is dropped in one go
+    private void invalidate(Integer restaurantId, ImportBatchResult result) {
+        pricingService.invalidate(result.updatedProductIds(), result.updatedAddonItemIds());
+        nearCacheManager.invalidate(CacheNames.PRODUCT, result.updatedProductIds());
+        nearCacheManager.invalidate(CacheNames.CATEGORY, result.categoryIds());
+        menuService.invalidate(restaurantId);
+        applicationEventPublisher.publishEvent(new SearchIndexChangedEvent(SearchType.PRODUCT, result.productIds()));
+        if (!result.createdCategoryIds().isEmpty()) {
+            applicationEventPublisher.publishEvent(new SearchIndexChangedEvent(SearchType.CATEGORY, result.createdCategoryIds()));
+        }
+    }
+
+    private String validate(ProductImportRow row, Set<String> codes) {
+        if (isBlank(row.code())) {
+            return "code is required";
+        }
+        if (isBlank(row.name())) {
+            return "name is required";
+        }
+        if (tooLong(row.code()) || tooLong(row.name()) || tooLong(row.description()) || tooLong(row.category())) {
+            return "text values must not be longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (row.price() == null || row.price() < 0) {
+            return "price must be zero or positive";
+        }
+        if (row.prepareTime() != null && row.prepareTime() < 0) {
+            return "prepareTime must be zero or positive";
+        }
+        if (row.addonSections() != null) {
+            Set<String> sectionNames = new HashSet<>();
+            for (ProductImportRow.AddonSection section : row.addonSections()) {
+                if (section == null) {
+                    return "addon sections must not be null";
+                }
+                if (isBlank(section.name()) || tooLong(section.name())) {
+                    return "addon section name is required and at most " + MAX_TEXT_LENGTH + " characters";
+                }
+                if (!sectionNames.add(section.name().trim().toLowerCase(Locale.ROOT))) {
+                    return "addon section " + section.name() + " appears more than once";
+                }
+                if (section.maxChoice() != null && section.maxChoice() < 1) {
+                    return "maxChoice of addon section " + section.name() + " must be at least 1";
+                }
+                String itemError = validateItems(section);
+                if (itemError != null) {
+                    return itemError;
+                }
+            }
+        }
+        if (!codes.add(row.code().trim())) {
+            return "code appears more than once in the upload";
+        }
+        return null;
+    }
+
+    private String validateItems(ProductImportRow.AddonSection section) {
+        if (section.items() == null) {
+            return null;
+        }
+        Set<String> itemNames = new HashSet<>();
+        for (ProductImportRow.AddonItem item : section.items()) {
+            if (item == null) {
+                return "addon items of section " + section.name() + " must not be null";
+            }
+            if (isBlank(item.name()) || tooLong(item.name())) {
+                return "addon item name is required and at most " + MAX_TEXT_LENGTH + " characters";
+            }
+            if (!itemNames.add(item.name().trim().toLowerCase(Locale.ROOT))) {
+                return "addon item " + item.name() + " appears more than once in section " + section.name();
+            }
+            if (item.price() == null || item.price() < 0) {
+                return "price of addon item " + item.name() + " must be zero or positive";
+            }
+            if (item.quantity() != null && item.quantity() < 0) {
+                return "quantity of addon item " + item.name() + " must be zero or positive";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double doubleField(List<String> record, Map<String, Integer> columns, String column) {
+        String value = field(record, columns, column);
+        try {
+            return value == null ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static Integer intField(List<String> record, Map<String, Integer> columns, String column) {
+        String value = field(record, columns, column);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not an integer: " + value);
+        }
+    }
+
+    private static Boolean booleanField(List<String> record, Map<String, Integer> columns, String column) {
+        String value = field(record, columns, column);
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw new IllegalArgumentException(column + " is not a boolean: " + value);
+        };
+    }
+
+    private record Line(int number, ProductImportRow row) {
+    }
+
+    private final class Import {
+        private final Integer restaurantId;
+        private final List<Line> batch = new ArrayList<>();
+        private final Set<String> codes = new HashSet<>();
+        private final List<ProductImportResponse.RowError> errors = new ArrayList<>();
+        private int total;
+        private int created;
+        private int updated;
+        private int failed;
+
+        Import(Integer restaurantId) {
+            this.restaurantId = restaurantId;
+        }
+
+        void fail(int line, String code, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportResponse.RowError(line, code, message));
+            }
+        }
+    }
+
+    // a product being assembled from consecutive CSV rows
+    private static final class CsvProduct {
+        private final int line;
+        private final String code;
+        private final ProductImportRow.ProductImportRowBuilder product;
+        private final Map<String, Section> sections = new LinkedHashMap<>();
+
+        CsvProduct(int line, List<String> record, Map<String, Integer> columns) {
+            this.line = line;
+            this.code = field(record, columns, "code");
+            this.product = ProductImportRow.builder()
+                    .code(code)
+                    .name(field(record, columns, "name"))
+                    .price(doubleField(record, columns, "price"))
+                    .description(field(record, columns, "description"))
+                    .prepareTime(doubleField(record, columns, "prepareTime"))
+                    .available(booleanField(record, columns, "available"))
+                    .category(field(record, columns, "category"));
+            addAddon(record, columns);
+        }
+
+        void addAddon(List<String> record, Map<String, Integer> columns) {
+            String sectionName = field(record, columns, "addonSection");
+            if (sectionName == null) {
+                return;
+            }
+            Section section = sections.computeIfAbsent(sectionName.toLowerCase(Locale.ROOT), key -> new Section(sectionName));
+            Integer maxChoice = intField(record, columns, "addonMaxChoice");
+            Boolean required = booleanField(record, columns, "addonRequired");
+            if (maxChoice != null) {
+                section.maxChoice = maxChoice;
+            }
+            if (required != null) {
+                section.required = required;
+            }
+            String itemName = field(record, columns, "addonItem");
+            if (itemName != null) {
+                section.items.add(new ProductImportRow.AddonItem(itemName,
+                        doubleField(record, columns, "addonItemPrice"), intField(record, columns, "addonItemQuantity")));
+            }
+        }
+
+        ProductImportRow toRow() {
+            return product.addonSections(sections.values().stream()
+                            .map(section -> new ProductImportRow.AddonSection(section.name, section.maxChoice, section.required, section.items))
+                            .toList())
+                    .build();
+        }
+    }
+
+    private static final class Section {
+        private final String name;
+        private final List<ProductImportRow.AddonItem> items = new ArrayList<>();
+        private Integer maxChoice;
+        private Boolean required;
+
+        Section(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.foodygo.service;
+
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.dto.internal.ImportBatchResult;
+import com.foodygo.dto.request.ProductImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Upserts one batch of a product import with plain JDBC batches, so a batch costs a fixed number of round trips
+ * whatever its size: one lookup, one insert batch and one update batch per table, plus a lookup of the generated ids.
+ * Names are matched case-insensitively. The whole batch is one transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductImportWriter {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Transactional
+    @PageCacheEvict({"products", "categories", "addon-sections", "addon-items"})
+    public ImportBatchResult write(Integer restaurantId, List<ProductImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Integer> categoryIds = findCategories(restaurantId);
+        Set<Integer> existingCategoryIds = Set.copyOf(categoryIds.values());
+        Set<String> missingCategories = new LinkedHashSet<>();
+        for (ProductImportRow row : rows) {
+            if (row.category() != null && !row.category().isBlank() && !categoryIds.containsKey(nameKey(row.category()))) {
+                missingCategories.add(row.category().trim());
+            }
+        }
+        if (!missingCategories.isEmpty()) {
+            batch("INSERT INTO category (name, restaurant_id, deleted, created_at, updated_at) "
+                            + "VALUES (:name, :restaurantId, false, :now, :now)",
+                    missingCategories.stream().map(name -> new MapSqlParameterSource()
+                            .addValue("name", name)
+                            .addValue("restaurantId", restaurantId)
+                            .addValue("now", now)).toList());
+            categoryIds = findCategories(restaurantId);
+        }
+
+        Map<String, Integer> productIds = findProducts(restaurantId, rows);
+        List<MapSqlParameterSource> inserts = new ArrayList<>();
+        List<MapSqlParameterSource> updates = new ArrayList<>();
+        List<Integer> updatedProductIds = new ArrayList<>();
+        for (ProductImportRow row : rows) {
+            Integer productId = productIds.get(row.code().trim());
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("id", productId)
+                    .addValue("code", row.code().trim())
+                    .addValue("name", row.name().trim())
+                    .addValue("price", row.price())
+                    .addValue("description", row.description())
+                    .addValue("prepareTime", row.prepareTime())
+                    .addValue("available", row.available())
+                    .addValue("categoryId", row.category() == null ? null : categoryIds.get(nameKey(row.category())))
+                    .addValue("restaurantId", restaurantId)
+                    .addValue("now", now);
+            if (productId == null) {
+                inserts.add(params.addValue("available", row.available() == null || row.available()));
+            } else {
+                updates.add(params);
+                updatedProductIds.add(productId);
+            }
+        }
+        batch("INSERT INTO product (code, name, price, description, prepare_time, available, restaurant_id, category_id, deleted, created_at, updated_at) "
+                + "VALUES (:code, :name, :price, :description, :prepareTime, :available, :restaurantId, :categoryId, false, :now, :now)", inserts);
+        // columns left out of the upload keep their value
+        batch("UPDATE product SET name = :name, price = :price, description = COALESCE(:description, description), "
+                + "prepare_time = COALESCE(:prepareTime, prepare_time), available = COALESCE(:available, available), "
+                + "category_id = COALESCE(:categoryId, category_id), updated_at = :now WHERE id = :id", updates);
+        if (!inserts.isEmpty()) {
+            productIds = findProducts(restaurantId, rows);
+        }
+
+        List<Integer> updatedAddonItemIds = writeAddons(rows, productIds, now);
+
+        Set<Integer> touchedCategoryIds = new LinkedHashSet<>();
+        for (ProductImportRow row : rows) {
+            if (row.category() != null && categoryIds.get(nameKey(row.category())) != null) {
+                touchedCategoryIds.add(categoryIds.get(nameKey(row.category())));
+            }
+        }
+        List<Integer> createdCategoryIds = categoryIds.values().stream().filter(id -> !existingCategoryIds.contains(id)).toList();
+        return new ImportBatchResult(inserts.size(), updates.size(), List.copyOf(productIds.values()), updatedProductIds,
+                List.copyOf(touchedCategoryIds), createdCategoryIds, updatedAddonItemIds);
+    }
+
+    // returns the ids of the addon items that existed and were updated
+    private List<Integer> writeAddons(List<ProductImportRow> rows, Map<String, Integer> productIds, LocalDateTime now) {
+        Map<Integer, ProductImportRow> rowsWithAddons = new HashMap<>();
+        for (ProductImportRow row : rows) {
+            if (row.addonSections() != null && !row.addonSections().isEmpty()) {
+                rowsWithAddons.put(productIds.get(row.code().trim()), row);
+            }
+        }
+        if (rowsWithAddons.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Integer> sectionIds = findSections(rowsWithAddons.keySet());
+        List<MapSqlParameterSource> inserts = new ArrayList<>();
+        List<MapSqlParameterSource> updates = new ArrayList<>();
+        for (Map.Entry<Integer, ProductImportRow> entry : rowsWithAddons.entrySet()) {
+            Integer productId = entry.getKey();
+            for (ProductImportRow.AddonSection section : entry.getValue().addonSections()) {
+                Integer sectionId = sectionIds.get(childKey(productId, section.name()));
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("id", sectionId)
+                        .addValue("name", section.name().trim())
+                        .addValue("maxChoice", section.maxChoice() == null ? 1 : section.maxChoice())
+                        .addValue("required", section.required() != null && section.required())
+                        .addValue("productId", productId)
+                        .addValue("now", now);
+                (sectionId == null ? inserts : updates).add(params);
+            }
+        }
+        batch("INSERT INTO `addon-section` (name, max_choice, required, product_id, deleted, created_at, updated_at) "
+                + "VALUES (:name, :maxChoice, :required, :productId, false, :now, :now)", inserts);
+        batch("UPDATE `addon-section` SET max_choice = :maxChoice, required = :required, updated_at = :now WHERE id = :id", updates);
+        if (!inserts.isEmpty()) {
+            sectionIds = findSections(rowsWithAddons.keySet());
+        }
+
+        Map<String, Integer> itemIds = findItems(sectionIds.values());
+        List<MapSqlParameterSource> itemInserts = new ArrayList<>();
+        List<MapSqlParameterSource> itemUpdates = new ArrayList<>();
+        List<Integer> updatedItemIds = new ArrayList<>();
+        for (Map.Entry<Integer, ProductImportRow> entry : rowsWithAddons.entrySet()) {
+            for (ProductImportRow.AddonSection section : entry.getValue().addonSections()) {
+                Integer sectionId = sectionIds.get(childKey(entry.getKey(), section.name()));
+                if (section.items() == null) {
+                    continue;
+                }
+                for (ProductImportRow.AddonItem item : section.items()) {
+                    Integer itemId = itemIds.get(childKey(sectionId, item.name()));
+                    MapSqlParameterSource params = new MapSqlParameterSource()
+                            .addValue("id", itemId)
+                            .addValue("name", item.name().trim())
+                            .addValue("price", item.price())
+                            .addValue("quantity", item.quantity())
+                            .addValue("sectionId", sectionId)
+                            .addValue("now", now);
+                    if (itemId == null) {
+                        itemInserts.add(params);
+                    } else {
+                        itemUpdates.add(params);
+                        updatedItemIds.add(itemId);
+                    }
+                }
+            }
+        }
+        batch("INSERT INTO `addon-item` (name, price, quantity, section_id, deleted, created_at, updated_at) "
+                + "VALUES (:name, :price, :quantity, :sectionId, false, :now, :now)", itemInserts);
+        batch("UPDATE `addon-item` SET price = :price, quantity = COALESCE(:quantity, quantity), updated_at = :now WHERE id = :id", itemUpdates);
+        return updatedItemIds;
+    }
+
+    private Map<String, Integer> findCategories(Integer restaurantId) {
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM category WHERE restaurant_id = :restaurantId AND deleted = false ORDER BY id",
+                new MapSqlParameterSource("restaurantId", restaurantId),
+                (RowCallbackHandler) rs -> ids.putIfAbsent(nameKey(rs.getString("name")), rs.getInt("id")));
+        return ids;
+    }
+
+    private Map<String, Integer> findProducts(Integer restaurantId, List<ProductImportRow> rows) {
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, code FROM product WHERE restaurant_id = :restaurantId AND deleted = false AND code IN (:codes) ORDER BY id",
+                new MapSqlParameterSource("restaurantId", restaurantId)
+                        .addValue("codes", rows.stream().map(row -> row.code().trim()).toList()),
+                (RowCallbackHandler) rs -> ids.putIfAbsent(rs.getString("code"), rs.getInt("id")));
+        return ids;
+    }
+
+    private Map<String, Integer> findSections(Set<Integer> productIds) {
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, product_id, name FROM `addon-section` WHERE deleted = false AND product_id IN (:productIds) ORDER BY id",
+                new MapSqlParameterSource("productIds", productIds),
+                (RowCallbackHandler) rs -> ids.putIfAbsent(childKey(rs.getInt("product_id"), rs.getString("name")), rs.getInt("id")));
+        return ids;
+    }
+
+    private Map<String, Integer> findItems(Iterable<Integer> sectionIds) {
+        List<Integer> ids = new ArrayList<>();
+        sectionIds.forEach(ids::add);
+        Map<String, Integer> itemIds = new HashMap<>();
+        if (ids.isEmpty()) {
+            return itemIds;
+        }
+        jdbcTemplate.query("SELECT id, section_id, name FROM `addon-item` WHERE deleted = false AND section_id IN (:sectionIds) ORDER BY id",
+                new MapSqlParameterSource("sectionIds", ids),
+                (RowCallbackHandler) rs -> itemIds.putIfAbsent(childKey(rs.getInt("section_id"), rs.getString("name")), rs.getInt("id")));
+        return itemIds;
+    }
+
+    private void batch(String sql, List<MapSqlParameterSource> params) {
+        if (!params.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, params.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String childKey(Integer parentId, String name) {
+        return parentId + ":" + nameKey(name);
+    }
+}
@@ -5,7 +5,9 @@ import com.foodygo.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ProductService {
     Product getProductById(Integer productId);
@@ -28,5 +30,7 @@ public interface ProductService {
 
     boolean switchProductAvailability(Integer productId);
 
+    Map<Integer, List<ProductDTO.AddonSection>> getAddonSectionsByProductIds(Collection<Integer> productIds);
+
     public List<Product> getProductsByIds(List<Integer> productIds);
 }
\ No newline at end of file
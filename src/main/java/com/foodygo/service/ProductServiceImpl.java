@@ -1,5 +1,9 @@
 package com.foodygo.service;
 
+import com.foodygo.cache.CacheNames;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.cache.PageCached;
 import com.foodygo.dto.ProductDTO;
 import com.foodygo.entity.Product;
 import com.foodygo.exception.ElementNotFoundException;
@@ -7,23 +11,25 @@ import com.foodygo.mapper.ProductMapper;
 import com.foodygo.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements  ProductService {
 
     private final ProductRepository productRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final String KEY_PRODUCT = "all_products";
+    private final PricingService pricingService;
+    private final MenuService menuService;
+    private final NearCacheManager nearCacheManager;
+    private final AddonTreeReader addonTreeReader;
+
+    private static final int MAX_ADDON_PRODUCTS = 1000;
 
     @Override
     public Product getProductById(Integer productId) {
@@ -33,40 +39,17 @@ public class ProductServiceImpl implements  ProductService {
 
     @Override
     public ProductDTO getProductDTOById(Integer productId) {
-        return ProductMapper.INSTANCE.toDTO(getProductById(productId));
+        return nearCacheManager.getCache(CacheNames.PRODUCT, ProductDTO.class)
+                .get(productId, () -> ProductMapper.INSTANCE.toDTO(getProductById(productId)));
     }
 
     @Override
     public List<Product> getAllProducts() {return productRepository.findByDeletedFalse();}
 
-    private String getKeyFrom(Pageable pageRequest){
-        int pageNumber = pageRequest.getPageNumber();
-        int pageSize = pageRequest.getPageSize();
-        Sort sort = pageRequest.getSort();
-        String sortDirection = Objects.requireNonNull(sort.getOrderFor("id"))
-                .getDirection() == Sort.Direction.ASC ? "asc" : "desc";
-        return String.format(KEY_PRODUCT + ":%d:%d:%s", pageNumber, pageSize, sortDirection);
-    }
-
     @Override
+    @PageCached("products")
     public Page<ProductDTO> getAllProductDTOs(Pageable pageable) {
-        String key = getKeyFrom(pageable) ;
-        List<ProductDTO> productDTOS = (List<ProductDTO>) redisTemplate.opsForValue().get(key);
-        if (productDTOS != null) {
-            return new PageImpl<>(productDTOS, pageable, productDTOS.size());
-        }
-        Page<ProductDTO> productPage = productRepository.findByDeletedFalse(pageable)
-                .map(ProductMapper.INSTANCE::toDTO);
-
-        redisTemplate.opsForValue().set(key, productPage.getContent());
-        return productPage;
-    }
-
-    private void clear() {
-        Set<String> keys = redisTemplate.keys(KEY_PRODUCT + ":*");
-        if (keys != null) {
-            redisTemplate.delete(keys);
-        }
+        return productRepository.findByDeletedFalse(pageable).map(ProductMapper.INSTANCE::toDTO);
     }
 
     @Override
@@ -75,6 +58,7 @@ public class ProductServiceImpl implements  ProductService {
     }
 
     @Override
+    @PageCached("products")
     public Page<ProductDTO> getAllProductDTOsByRestaurantId(Integer restaurantId, Pageable pageable) {
         return productRepository.findByRestaurantIdAndDeletedFalse(restaurantId, pageable).map(ProductMapper.INSTANCE::toDTO);
     }
@@ -85,11 +69,13 @@ public class ProductServiceImpl implements  ProductService {
     }
 
     @Override
+    @PageCached("products")
     public Page<ProductDTO> getAllProductDTOsByCategoryId(Integer categoryId, Pageable pageable) {
         return productRepository.findByCategoryIdAndDeletedFalse(categoryId, pageable).map(ProductMapper.INSTANCE::toDTO);
     }
 
     @Override
+    @PageCacheEvict("products")
     public void createProduct(ProductDTO productDTO) {
         Product product = Product.builder()
                 .code(productDTO.code())
@@ -99,10 +85,12 @@ public class ProductServiceImpl implements  ProductService {
                 .prepareTime(productDTO.prepareTime())
                 .build();
         productRepository.save(product);
-        clear();
+        pricingService.refreshProduct(product);
+        menuService.invalidate(product);
     }
 
     @Override
+    @PageCacheEvict("products")
     public void updateProductInfo(ProductDTO productDTO) {
         Product product = getProductById(productDTO.id());
         product.setCode(productDTO.code());
@@ -111,29 +99,59 @@ public class ProductServiceImpl implements  ProductService {
         product.setDescription(productDTO.description());
         product.setPrepareTime(productDTO.prepareTime());
         productRepository.save(product);
-        clear();
+        pricingService.refreshProduct(product);
+        menuService.invalidate(product);
+        evict(product);
     }
 
     @Override
+    @PageCacheEvict("products")
     public void deleteProduct(Integer productId) {
         Product product = getProductById(productId);
         product.setDeleted(true);
         productRepository.save(product);
-        clear();
+        pricingService.refreshProduct(product);
+        menuService.invalidate(product);
+        evict(product);
     }
 
     @Override
+    @PageCacheEvict("products")
     public boolean switchProductAvailability(Integer productId) {
         Product product = getProductById(productId);
         product.setAvailable(!product.isAvailable());
         productRepository.save(product);
-        clear();
+        pricingService.refreshProduct(product);
+        menuService.invalidate(product);
+        evict(product);
         return product.isAvailable();
     }
 
+    @Override
+    public Map<Integer, List<ProductDTO.AddonSection>> getAddonSectionsByProductIds(Collection<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new IllegalArgumentException("Product ids are required");
+        }
+        if (productIds.size() > MAX_ADDON_PRODUCTS) {
+            throw new IllegalArgumentException("At most " + MAX_ADDON_PRODUCTS + " products can be read at once");
+        }
+        if (productIds.contains(null)) {
+            throw new IllegalArgumentException("Product ids must not be null");
+        }
+        return addonTreeReader.read(new LinkedHashSet<>(productIds));
+    }
+
     @Override
     public List<Product> getProductsByIds(List<Integer> productIds) {
         return productRepository.findAllById(productIds);
     }
 
+    // the category read model embeds its products, so it goes stale together with them
+    private void evict(Product product) {
+        nearCacheManager.invalidate(CacheNames.PRODUCT, product.getId());
+        if (product.getCategory() != null) {
+            nearCacheManager.invalidate(CacheNames.CATEGORY, product.getCategory().getId());
+        }
+    }
+
 }
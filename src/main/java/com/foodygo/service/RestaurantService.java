@@ -10,6 +10,7 @@ import java.util.List;
 public interface RestaurantService {
     Restaurant getRestaurantById(Integer restaurantId);
     RestaurantDTO getRestaurantDTOById(Integer restaurantId);
+    Restaurant getRestaurantReference(Integer restaurantId);
 
     List<Restaurant> getAllRestaurants();
     Page<RestaurantDTO> getAllRestaurantDTOs(Pageable pageable);
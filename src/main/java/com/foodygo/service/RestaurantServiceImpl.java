@@ -1,9 +1,14 @@
 package com.foodygo.service;
 
+import com.foodygo.cache.CacheNames;
+import com.foodygo.cache.NearCacheManager;
+import com.foodygo.cache.PageCacheEvict;
+import com.foodygo.cache.PageCached;
 import com.foodygo.dto.RestaurantDTO;
 import com.foodygo.entity.Restaurant;
 import com.foodygo.exception.ElementNotFoundException;
 import com.foodygo.mapper.RestaurantMapper;
+import com.foodygo.repository.CategoryRepository;
 import com.foodygo.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -17,6 +22,9 @@ import java.util.List;
 public class RestaurantServiceImpl implements RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
+    private final CategoryRepository categoryRepository;
+    private final MenuService menuService;
+    private final NearCacheManager nearCacheManager;
 
     @Override
     public Restaurant getRestaurantById(Integer restaurantId) {
@@ -26,7 +34,15 @@ public class RestaurantServiceImpl implements RestaurantService {
 
     @Override
     public RestaurantDTO getRestaurantDTOById(Integer restaurantId) {
-        return RestaurantMapper.INSTANCE.toDTO(getRestaurantById(restaurantId));
+        return nearCacheManager.getCache(CacheNames.RESTAURANT, RestaurantDTO.class)
+                .get(restaurantId, () -> RestaurantMapper.INSTANCE.toDTO(getRestaurantById(restaurantId)));
+    }
+
+    // existence is checked against the near cache, the order only needs the foreign key
+    @Override
+    public Restaurant getRestaurantReference(Integer restaurantId) {
+        getRestaurantDTOById(restaurantId);
+        return restaurantRepository.getReferenceById(restaurantId);
     }
 
     @Override
@@ -35,6 +51,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @PageCached("restaurants")
     public Page<RestaurantDTO> getAllRestaurantDTOs(Pageable pageable) {
         return restaurantRepository.findByDeletedFalse(pageable).map(RestaurantMapper.INSTANCE::toDTO);
     }
@@ -45,11 +62,13 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @PageCached("restaurants")
     public Page<RestaurantDTO> searchRestaurantsByName(String name, Pageable pageable) {
         return restaurantRepository.findByNameContainingIgnoreCase(name, pageable).map(RestaurantMapper.INSTANCE::toDTO);
     }
 
     @Override
+    @PageCacheEvict("restaurants")
     public void updateRestaurantInfo(RestaurantDTO restaurantDTO) {
         Restaurant restaurant = getRestaurantById(restaurantDTO.id());
         restaurant.setName(restaurantDTO.name());
@@ -58,9 +77,12 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setAddress(restaurantDTO.address());
         restaurant.setImage(restaurant.getImage());
         restaurantRepository.save(restaurant);
+        menuService.invalidate(restaurant.getId());
+        evict(restaurant.getId(), true);
     }
 
     @Override
+    @PageCacheEvict("restaurants")
     public void createRestaurant(RestaurantDTO restaurantDTO) {
         Restaurant restaurant = Restaurant.builder()
                 .name(restaurantDTO.name())
@@ -73,13 +95,17 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @PageCacheEvict("restaurants")
     public void deleteRestaurant(Integer restaurantId) {
         Restaurant restaurant = getRestaurantById(restaurantId);
         restaurant.setDeleted(true);
         restaurantRepository.save(restaurant);
+        menuService.invalidate(restaurant.getId());
+        evict(restaurant.getId(), true);
     }
 
     @Override
+    @PageCacheEvict("restaurants")
     public boolean switchRestaurantAvailability(Integer restaurantId) {
         Restaurant restaurant = getRestaurantById(restaurantId);
         if (restaurant.isAvailable()) {
@@ -88,6 +114,17 @@ public class RestaurantServiceImpl implements RestaurantService {
             restaurant.setAvailable(true);
         }
         restaurantRepository.save(restaurant);
+        menuService.invalidate(restaurant.getId());
+        evict(restaurant.getId(), false);
         return restaurant.isAvailable();
     }
+
+    // category read models embed the restaurant profile, but not its availability
+    private void evict(Integer restaurantId, boolean profileChanged) {
+        nearCacheManager.invalidate(CacheNames.RESTAURANT, restaurantId);
+        if (profileChanged) {
+            categoryRepository.findByRestaurantIdAndDeletedFalse(restaurantId)
+                    .forEach(category -> nearCacheManager.invalidate(CacheNames.CATEGORY, category.getId()));
+        }
+    }
 }
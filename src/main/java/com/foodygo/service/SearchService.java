@@ -0,0 +1,17 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.response.SearchHitResponse;
+import com.foodygo.enums.SearchType;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SearchService {
+
+    List<SearchHitResponse> search(String query, SearchType type, int size);
+
+    void reindex(SearchType type, Collection<Integer> ids);
+
+    void rebuild();
+
+}
@@ -0,0 +1,129 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.internal.SearchEntry;
+import com.foodygo.dto.response.SearchHitResponse;
+import com.foodygo.enums.SearchType;
+import com.foodygo.repository.CategoryRepository;
+import com.foodygo.repository.ProductRepository;
+import com.foodygo.repository.RestaurantRepository;
+import com.foodygo.search.SearchIndex;
+import com.foodygo.search.SearchIndexChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@link SearchIndex} of every instance in sync with the database.
+ * The index is built once the application is ready. After that, each committed change is applied locally and announced
+ * over Redis pub/sub, so the other instances reload the same row. Messages carry the sender id, so a change is not applied twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService, MessageListener {
+
+    private static final String CHANNEL = "search:reindex";
+
+    private final SearchIndex searchIndex;
+    private final RestaurantRepository restaurantRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<SearchEntry> restaurants = restaurantRepository.findAllSearchEntries();
+        List<SearchEntry> products = productRepository.findAllSearchEntries();
+        List<SearchEntry> categories = categoryRepository.findAllSearchEntries();
+        searchIndex.clear();
+        restaurants.forEach(entry -> searchIndex.put(SearchType.RESTAURANT, entry));
+        products.forEach(entry -> searchIndex.put(SearchType.PRODUCT, entry));
+        categories.forEach(entry -> searchIndex.put(SearchType.CATEGORY, entry));
+        searchIndex.refresh();
+        log.info("Built search index with {} restaurants, {} products and {} categories", restaurants.size(), products.size(), categories.size());
+    }
+
+    @Override
+    public List<SearchHitResponse> search(String query, SearchType type, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        return searchIndex.search(query, type, size);
+    }
+
+    // deleted and soft deleted rows are not found, which removes their document
+    @Override
+    public void reindex(SearchType type, Collection<Integer> ids) {
+        List<SearchEntry> entries = switch (type) {
+            case RESTAURANT -> restaurantRepository.findSearchEntriesByIdIn(ids);
+            case PRODUCT -> productRepository.findSearchEntriesByIdIn(ids);
+            case CATEGORY -> categoryRepository.findSearchEntriesByIdIn(ids);
+        };
+        Set<Integer> found = new HashSet<>();
+        for (SearchEntry entry : entries) {
+            searchIndex.put(type, entry);
+            found.add(entry.id());
+        }
+        ids.stream().filter(id -> !found.contains(id)).forEach(id -> searchIndex.remove(type, id));
+        searchIndex.refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(SearchIndexChangedEvent event) {
+        try {
+            reindex(event.type(), event.ids());
+        } catch (Exception e) {
+            log.warn("Cannot reindex {} {}: {}", event.type(), event.ids(), e.toString());
+        }
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, instanceId + ":" + event.type() + ":"
+                    + event.ids().stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            log.warn("Cannot announce reindex of {} {}: {}", event.type(), event.ids(), e.toString());
+        }
+    }
+
+    // messages are <instance>:<type>:<id>[,<id>...]
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        try {
+            reindex(SearchType.valueOf(parts[1]), Arrays.stream(parts[2].split(",")).map(Integer::valueOf).toList());
+        } catch (Exception e) {
+            log.warn("Cannot reindex {} {}: {}", parts[1], parts[2], e.toString());
+        }
+    }
+}
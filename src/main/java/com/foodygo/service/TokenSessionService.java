@@ -0,0 +1,20 @@
+package com.foodygo.service;
+
+import com.foodygo.configuration.CustomUserDetail;
+import com.foodygo.configuration.JwtClaims;
+
+public interface TokenSessionService {
+
+    Tokens createSession(CustomUserDetail customUserDetail);
+
+    String refreshAccessToken(JwtClaims refreshClaims, CustomUserDetail customUserDetail);
+
+    boolean isActive(JwtClaims accessClaims);
+
+    void revokeSession(JwtClaims claims);
+
+    void revokeAllSessions(int userID);
+
+    record Tokens(String token, String refreshToken) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.foodygo.service;
+
+import com.foodygo.configuration.CustomUserDetail;
+import com.foodygo.configuration.JWTToken;
+import com.foodygo.configuration.JwtClaims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps token sessions in Redis instead of the user row.
+ * <ul>
+ *     <li>{@code token-session:{sid}} holds the id of the current access token of a session and lives as long as the refresh token.</li>
+ *     <li>{@code token-epoch:{userID}} is bumped to revoke every session of a user at once; tokens carry the epoch they were issued in.
+ *     It has no expiry, it is one small counter per user that ever revoked all sessions.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenSessionServiceImpl implements TokenSessionService {
+
+    private static final String SESSION_PREFIX = "token-session:";
+    private static final String EPOCH_PREFIX = "token-epoch:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JWTToken jwtToken;
+
+    @Override
+    public Tokens createSession(CustomUserDetail customUserDetail) {
+        long epoch = getEpoch(customUserDetail.getUserID());
+        String sessionId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        String token = jwtToken.generatedToken(customUserDetail, sessionId, tokenId, epoch);
+        String refreshToken = jwtToken.generatedRefreshToken(customUserDetail, sessionId, epoch);
+        stringRedisTemplate.opsForValue().set(SESSION_PREFIX + sessionId, tokenId, jwtToken.getRefreshExpiration());
+        return new Tokens(token, refreshToken);
+    }
+
+    @Override
+    public String refreshAccessToken(JwtClaims refreshClaims, CustomUserDetail customUserDetail) {
+        if (refreshClaims.sessionId() == null || refreshClaims.epoch() < getEpoch(refreshClaims.userID())) {
+            return null;
+        }
+        String tokenId = UUID.randomUUID().toString();
+        byte[] key = (SESSION_PREFIX + refreshClaims.sessionId()).getBytes(StandardCharsets.UTF_8);
+        byte[] value = tokenId.getBytes(StandardCharsets.UTF_8);
+        // SET XX KEEPTTL: replaces the current access token only while the session is still alive
+        Boolean replaced = stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(key, value, Expiration.keepTtl(), RedisStringCommands.SetOption.ifPresent()));
+        if (!Boolean.TRUE.equals(replaced)) {
+            return null;
+        }
+        return jwtToken.generatedToken(customUserDetail, refreshClaims.sessionId(), tokenId, refreshClaims.epoch());
+    }
+
+    @Override
+    public boolean isActive(JwtClaims accessClaims) {
+        if (accessClaims.sessionId() == null || accessClaims.tokenId() == null || accessClaims.userID() == null) {
+            return false;
+        }
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(List.of(
+                SESSION_PREFIX + accessClaims.sessionId(),
+                EPOCH_PREFIX + accessClaims.userID()));
+        if (values == null || !accessClaims.tokenId().equals(values.get(0))) {
+            return false;
+        }
+        return accessClaims.epoch() >= parseEpoch(values.get(1));
+    }
+
+    @Override
+    public void revokeSession(JwtClaims claims) {
+        if (claims.sessionId() != null) {
+            stringRedisTemplate.delete(SESSION_PREFIX + claims.sessionId());
+        }
+    }
+
+    @Override
+    public void revokeAllSessions(int userID) {
+        // never expires: a counter that restarted from zero would let tokens issued in a later epoch survive the next bump
+        stringRedisTemplate.opsForValue().increment(EPOCH_PREFIX + userID);
+    }
+
+    private long getEpoch(Integer userID) {
+        if (userID == null) {
+            return Long.MAX_VALUE;
+        }
+        return parseEpoch(stringRedisTemplate.opsForValue().get(EPOCH_PREFIX + userID));
+    }
+
+    private long parseEpoch(String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+}
@@ -1,5 +1,7 @@
 package com.foodygo.service;
 
+import com.foodygo.dto.internal.FeedCursor;
+import com.foodygo.dto.response.CursorResponse;
 import com.foodygo.dto.response.TransactionHistoryResponse;
 import com.foodygo.entity.Transaction;
 import com.foodygo.entity.Wallet;
@@ -11,10 +13,11 @@ import java.util.List;
 public interface TransactionService {
 
     List<TransactionHistoryResponse> getTransactionsByWallet(Integer walletId);
+    CursorResponse getTransactionFeed(Integer walletId, FeedCursor after, int limit);
     TransactionHistoryResponse getTransactionById(Integer transactionId);
     List<TransactionHistoryResponse> getTransactionsByType(Integer walletId, TransactionType type);
-    TransactionHistoryResponse processPayment(Integer walletId, double amount);
-    TransactionHistoryResponse processRefund(Integer walletId, double amount);
-    TransactionHistoryResponse transferMoney(Integer fromWalletId, Integer toWalletId, double amount);
+    TransactionHistoryResponse processPayment(Integer walletId, double amount, String idempotencyKey);
+    TransactionHistoryResponse processRefund(Integer walletId, double amount, String idempotencyKey);
+    TransactionHistoryResponse transferMoney(Integer fromWalletId, Integer toWalletId, double amount, String idempotencyKey);
     void deleteTransactionsByOrderId(Integer orderId);
 }
@@ -1,15 +1,29 @@
 package com.foodygo.service;
+import com.foodygo.dto.internal.FeedCursor;
+import com.foodygo.dto.internal.TransactionRow;
+import com.foodygo.dto.response.CursorResponse;
 import com.foodygo.dto.response.TransactionHistoryResponse;
+import com.foodygo.entity.IdempotencyKey;
 import com.foodygo.entity.Transaction;
-import com.foodygo.entity.Wallet;
 import com.foodygo.enums.TransactionType;
 import com.foodygo.exception.IdNotFoundException;
+import com.foodygo.exception.IdempotencyConflictException;
 import com.foodygo.mapper.TransactionMapper;
+import com.foodygo.repository.IdempotencyKeyRepository;
 import com.foodygo.repository.TransactionRepository;
 import com.foodygo.repository.WalletRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
 
 @Service
@@ -18,12 +32,27 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final WalletRepository walletRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final LedgerService ledgerService;
+    private final WalletBalanceCache walletBalanceCache;
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
 
     @Override
     public List<TransactionHistoryResponse> getTransactionsByWallet(Integer walletId) {
         return TransactionMapper.INSTANCE.toDTO(transactionRepository.findByWalletId(walletId));
     }
 
+    @Override
+    public CursorResponse getTransactionFeed(Integer walletId, FeedCursor after, int limit) {
+        Slice<TransactionRow> transactions = transactionRepository.findFeedByWalletId(walletId, after.time(), after.id(), FeedCursor.limit(limit));
+        TransactionRow last = transactions.hasContent() ? transactions.getContent().get(transactions.getNumberOfElements() - 1) : null;
+        List<TransactionHistoryResponse> responses = transactions.getContent().stream()
+                .map(TransactionMapper.INSTANCE::toDTO)
+                .toList();
+        return CursorResponse.of(responses, transactions.hasNext(), last == null ? null : new FeedCursor(last.id(), last.createdAt()));
+    }
+
     @Override
     public TransactionHistoryResponse getTransactionById(Integer transactionId) {
         return TransactionMapper.INSTANCE.toDTO(transactionRepository.findById(transactionId)
@@ -36,64 +65,134 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public TransactionHistoryResponse processPayment(Integer walletId, double amount) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new IdNotFoundException("Wallet not found"));
-
-        if (wallet.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient balance");
+    @Transactional
+    public TransactionHistoryResponse processPayment(Integer walletId, double amount, String idempotencyKey) {
+        requirePositive(amount);
+        TransactionHistoryResponse previous = claim(walletId, idempotencyKey, TransactionType.PAYMENT, null, amount);
+        if (previous != null) {
+            return previous;
         }
+        debit(walletId, amount, "Wallet not found");
+        Transaction transaction = record(walletId, amount, TransactionType.PAYMENT);
+        ledgerService.post(transaction, walletId, null, amount);
+        return complete(walletId, idempotencyKey, transaction);
+    }
 
-        wallet.setBalance(wallet.getBalance() - (amount));
-        walletRepository.save(wallet);
-        Transaction transaction = Transaction.builder()
-                .amount(amount)
-                .remaining(wallet.getBalance())
-                .type(TransactionType.PAYMENT)
-                .wallet(wallet)
-                .build();
-        return TransactionMapper.INSTANCE.toDTO(transactionRepository.save(transaction));
+    @Override
+    @Transactional
+    public TransactionHistoryResponse processRefund(Integer walletId, double amount, String idempotencyKey) {
+        requirePositive(amount);
+        TransactionHistoryResponse previous = claim(walletId, idempotencyKey, TransactionType.REFUND, null, amount);
+        if (previous != null) {
+            return previous;
+        }
+        credit(walletId, amount, "Wallet not found");
+        Transaction transaction = record(walletId, amount, TransactionType.REFUND);
+        ledgerService.post(transaction, null, walletId, amount);
+        return complete(walletId, idempotencyKey, transaction);
     }
 
     @Override
-    public TransactionHistoryResponse processRefund(Integer walletId, double amount) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new IdNotFoundException("Wallet not found"));
+    @Transactional
+    public TransactionHistoryResponse transferMoney(Integer fromWalletId, Integer toWalletId, double amount, String idempotencyKey) {
+        requirePositive(amount);
+        if (fromWalletId.equals(toWalletId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same wallet");
+        }
+        TransactionHistoryResponse previous = claim(fromWalletId, idempotencyKey, TransactionType.TRANSFER, toWalletId, amount);
+        if (previous != null) {
+            return previous;
+        }
+        // wallet rows are always locked in ascending id order, so two opposite transfers cannot deadlock each other
+        if (fromWalletId < toWalletId) {
+            debit(fromWalletId, amount, "Sender wallet not found");
+            credit(toWalletId, amount, "Receiver wallet not found");
+        } else {
+            credit(toWalletId, amount, "Receiver wallet not found");
+            debit(fromWalletId, amount, "Sender wallet not found");
+        }
+        // both wallets get a history row, the ledger movement hangs off the sender's
+        Transaction transaction = record(fromWalletId, amount, TransactionType.TRANSFER);
+        record(toWalletId, amount, TransactionType.TRANSFER);
+        ledgerService.post(transaction, fromWalletId, toWalletId, amount);
+        return complete(fromWalletId, idempotencyKey, transaction);
+    }
 
-        wallet.setBalance(wallet.getBalance() + (amount));
-        walletRepository.save(wallet);
-        Transaction transaction = Transaction.builder()
-                .amount(amount)
-                .remaining(wallet.getBalance())
-                .type(TransactionType.REFUND)
-                .wallet(wallet)
-                .build();
-        return TransactionMapper.INSTANCE.toDTO(transactionRepository.save(transaction));
+    private void requirePositive(double amount) {
+        if (!(amount > 0)) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
     }
 
-    @Override
-    public TransactionHistoryResponse transferMoney(Integer fromWalletId, Integer toWalletId, double amount) {
-        Wallet fromWallet = walletRepository.findById(fromWalletId)
-                .orElseThrow(() -> new IdNotFoundException("Sender wallet not found"));
-        Wallet toWallet = walletRepository.findById(toWalletId)
-                .orElseThrow(() -> new IdNotFoundException("Receiver wallet not found"));
+    /**
+     * Keys are scoped to the wallet that starts the operation, so two wallets cannot collide on the same key.
+     * Returns null if the key is absent or new, otherwise the transaction produced by the first request with this key.
+     * A replay must repeat the first request exactly, a different operation, receiver or amount under a used key is rejected.
+     */
+    private TransactionHistoryResponse claim(Integer walletId, String idempotencyKey, TransactionType type, Integer toWalletId, double amount) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return null;
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key is longer than " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        String requestHash = requestHash(type, walletId, toWalletId, amount);
+        if (idempotencyKeyRepository.claim(walletId, idempotencyKey, type.name(), requestHash) == 1) {
+            return null;
+        }
+        IdempotencyKey key = idempotencyKeyRepository.findById(new IdempotencyKey.Key(walletId, idempotencyKey))
+                .orElseThrow(() -> new IllegalStateException("Idempotency key " + idempotencyKey + " disappeared"));
+        if (!type.name().equals(key.getOperation())) {
+            throw new IdempotencyConflictException("Idempotency key was already used for a " + key.getOperation().toLowerCase());
+        }
+        if (key.getRequestHash() != null && !key.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency key was already used for a different " + type.name().toLowerCase());
+        }
+        return getTransactionById(key.getTransactionId());
+    }
+
+    private static String requestHash(TransactionType type, Integer fromWalletId, Integer toWalletId, double amount) {
+        String request = type + "|" + fromWalletId + "|" + toWalletId + "|" + BigDecimal.valueOf(amount).stripTrailingZeros().toPlainString();
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-        if (fromWallet.getBalance().compareTo(amount) < 0) {
+    private void debit(Integer walletId, double amount, String notFoundMessage) {
+        if (walletRepository.debit(walletId, amount) == 0) {
+            if (!walletRepository.existsById(walletId)) {
+                throw new IdNotFoundException(notFoundMessage);
+            }
             throw new IllegalStateException("Insufficient balance");
         }
+    }
 
-        fromWallet.setBalance(fromWallet.getBalance() - amount);
-        toWallet.setBalance(toWallet.getBalance() + amount);
+    private void credit(Integer walletId, double amount, String notFoundMessage) {
+        if (walletRepository.credit(walletId, amount) == 0) {
+            throw new IdNotFoundException(notFoundMessage);
+        }
+    }
 
-        walletRepository.save(fromWallet);
-        walletRepository.save(toWallet);
-        Transaction transaction = Transaction.builder()
+    // the balance is read back under the row lock taken by the update, so remaining matches this transaction exactly
+    private Transaction record(Integer walletId, double amount, TransactionType type) {
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .time(LocalDateTime.now())
                 .amount(amount)
-                .remaining(fromWallet.getBalance())
-                .type(TransactionType.TRANSFER)
-                .wallet(fromWallet)
-                .build();
-        return TransactionMapper.INSTANCE.toDTO(transactionRepository.save(transaction));
+                .remaining(walletRepository.findBalanceById(walletId))
+                .type(type)
+                .wallet(walletRepository.getReferenceById(walletId))
+                .build());
+        walletBalanceCache.putAfterCommit(walletId, transaction.getRemaining(), transaction.getId());
+        return transaction;
+    }
+
+    private TransactionHistoryResponse complete(Integer walletId, String idempotencyKey, Transaction transaction) {
+        if (StringUtils.hasText(idempotencyKey)) {
+            idempotencyKeyRepository.complete(walletId, idempotencyKey, transaction.getId());
+        }
+        return TransactionMapper.INSTANCE.toDTO(transaction);
     }
 
     @Override
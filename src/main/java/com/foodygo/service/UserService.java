@@ -46,6 +46,8 @@ public interface UserService extends BaseService<User, Integer> {
 
     boolean logout(HttpServletRequest request, HttpServletResponse response);
 
+    boolean logoutAll(HttpServletRequest request, HttpServletResponse response);
+
     TokenResponse getTokenLoginFromOauth2();
 
     UserDTO createUserWithRole(UserCreateRequest userCreateRequest);
@@ -3,6 +3,8 @@ package com.foodygo.service;
 import com.foodygo.configuration.CustomUserDetail;
 import com.foodygo.configuration.JWTAuthenticationFilter;
 import com.foodygo.configuration.JWTToken;
+import com.foodygo.configuration.JwtClaims;
+import com.foodygo.configuration.UserPrincipalCache;
 import com.foodygo.dto.CustomerDTO;
 import com.foodygo.dto.UserDTO;
 import com.foodygo.dto.request.UserCreateRequest;
@@ -37,8 +39,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -54,10 +56,13 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
     private final JWTToken jwtToken;
     private final JWTAuthenticationFilter jwtAuthenticationFilter;
     private final AuthenticationManager authenticationManager;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenSessionService tokenSessionService;
 
     public UserServiceImpl(UserRepository userRepository, RoleService roleService, BCryptPasswordEncoder bCryptPasswordEncoder,
                            UserMapper userMapper, CustomerMapper customerMapper, CustomerRepository customerRepository,
-                           JWTToken jwtToken, JWTAuthenticationFilter jwtAuthenticationFilter, AuthenticationManager authenticationManager) {
+                           JWTToken jwtToken, JWTAuthenticationFilter jwtAuthenticationFilter, AuthenticationManager authenticationManager,
+                           UserPrincipalCache userPrincipalCache, TokenSessionService tokenSessionService) {
         super(userRepository);
         this.userRepository = userRepository;
         this.roleService = roleService;
@@ -68,6 +73,8 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         this.jwtToken = jwtToken;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.authenticationManager = authenticationManager;
+        this.userPrincipalCache = userPrincipalCache;
+        this.tokenSessionService = tokenSessionService;
     }
 
     @Override
@@ -171,6 +178,8 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         User user = userRepository.getUserByUserID(id);
         if (user != null && user.isNonLocked()) {
             userRepository.locked(id);
+            userPrincipalCache.evict(user.getEmail());
+            tokenSessionService.revokeAllSessions(id);
             return true;
         }
         return false;
@@ -181,6 +190,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         User user = userRepository.getUserByUserID(id);
         if (user != null && !user.isNonLocked()) {
             userRepository.unLocked(id);
+            userPrincipalCache.evict(user.getEmail());
             return true;
         }
         return false;
@@ -207,6 +217,8 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         User user = userRepository.getUserByEmail(email);
         if (user != null && user.isNonLocked()) {
             userRepository.lockedByEmail(email);
+            userPrincipalCache.evict(email);
+            tokenSessionService.revokeAllSessions(user.getUserID());
         }
     }
 
@@ -234,8 +246,6 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         User user = User.builder()
                 .email(userRegisterRequest.getEmail())
                 .password(bCryptPasswordEncoder.encode(userRegisterRequest.getPassword()))
-                .accessToken(null)
-                .refreshToken(null)
                 .enabled(true)
                 .nonLocked(true)
                 .role(role)
@@ -269,7 +279,9 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
             if (userUpdateRequest.getFullName() != null) {
                 user.setFullName(userUpdateRequest.getFullName());
             }
-            return userMapper.userToUserDTO(userRepository.save(user));
+            User savedUser = userRepository.save(user);
+            userPrincipalCache.evict(savedUser.getEmail());
+            return userMapper.userToUserDTO(savedUser);
         } else {
             throw new ElementNotFoundException("User not found");
         }
@@ -304,25 +316,20 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
             }
             user.setRole(role);
         }
-        return userMapper.userToUserDTO(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        userPrincipalCache.evict(savedUser.getEmail());
+        return userMapper.userToUserDTO(savedUser);
     }
 
     @Override
     public TokenResponse refreshToken(String refreshToken) {
         TokenResponse tokenResponse = new TokenResponse("Failed", "Refresh token failed", null, null, null, null);
-        String email = jwtToken.getEmailFromJwt(refreshToken, EnumTokenType.REFRESH_TOKEN);
-        User user = userRepository.getUserByEmail(email);
-        if (user != null) {
-            if (StringUtils.hasText(refreshToken) && user.getRefreshToken().equals(refreshToken)) {
-                if (jwtToken.validate(refreshToken, EnumTokenType.REFRESH_TOKEN)) {
-                    CustomUserDetail customUserDetail = CustomUserDetail.mapUserToUserDetail(user);
-                    if (customUserDetail != null) {
-                        String newToken = jwtToken.generatedToken(customUserDetail);
-                        user.setAccessToken(newToken);
-                        userRepository.save(user);
-                        tokenResponse = new TokenResponse("Success", "Refresh token successfully", newToken, refreshToken, user.getFullName(), user.getEmail());
-                    }
-                }
+        JwtClaims claims = jwtToken.parse(refreshToken, EnumTokenType.REFRESH_TOKEN);
+        CustomUserDetail customUserDetail = userPrincipalCache.get(claims.subject());
+        if (customUserDetail != null) {
+            String newToken = tokenSessionService.refreshAccessToken(claims, customUserDetail);
+            if (newToken != null) {
+                tokenResponse = new TokenResponse("Success", "Refresh token successfully", newToken, refreshToken, customUserDetail.getFullName(), customUserDetail.getEmail());
             }
         }
         return tokenResponse;
@@ -330,43 +337,26 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
 
     @Override
     public TokenResponse login(String email, String password) {
-        TokenResponse tokenResponse = new TokenResponse("Failed", "Login failed", null, null, null, null);
-
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
                 new UsernamePasswordAuthenticationToken(email, password);
         Authentication authentication = authenticationManager.authenticate(usernamePasswordAuthenticationToken);
         CustomUserDetail userDetails = (CustomUserDetail) authentication.getPrincipal();
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = jwtToken.generatedToken(userDetails);
-        String refreshToken = jwtToken.generatedRefreshToken(userDetails);
-        User user = userRepository.getUserByEmail(userDetails.getEmail());
-        if (user != null) {
-            user.setRefreshToken(refreshToken);
-            user.setAccessToken(token);
-            userRepository.save(user);
-            tokenResponse = TokenResponse.builder()
-                    .fullName(user.getFullName())
-                    .email(user.getEmail())
-                    .token(token)
-                    .refreshToken(refreshToken)
-                    .code("Success")
-                    .message("Login successfully")
-                    .build();
-        }
-        return tokenResponse;
+        TokenSessionService.Tokens tokens = tokenSessionService.createSession(userDetails);
+        return TokenResponse.builder()
+                .fullName(userDetails.getFullName())
+                .email(userDetails.getEmail())
+                .token(tokens.token())
+                .refreshToken(tokens.refreshToken())
+                .code("Success")
+                .message("Login successfully")
+                .build();
     }
 
     @Override
     public boolean logout(HttpServletRequest request, HttpServletResponse response) {
         String token = jwtAuthenticationFilter.getToken(request);
-        String email = jwtToken.getEmailFromJwt(token, EnumTokenType.TOKEN);
-        User user = userRepository.getUserByEmail(email);
-        if (user == null) {
-            throw new ElementNotFoundException("User not found");
-        }
-        user.setAccessToken(null);
-        user.setRefreshToken(null);
-        User checkUser = userRepository.save(user);
+        tokenSessionService.revokeSession(jwtToken.parse(token, EnumTokenType.TOKEN));
         SecurityContextHolder.clearContext();
         HttpSession session = request.getSession(false);
         if (session != null) {
@@ -379,7 +369,18 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         cookie.setMaxAge(0);
         response.addCookie(cookie);
 
-        return checkUser.getAccessToken() == null;
+        return true;
+    }
+
+    @Override
+    public boolean logoutAll(HttpServletRequest request, HttpServletResponse response) {
+        String token = jwtAuthenticationFilter.getToken(request);
+        JwtClaims claims = jwtToken.parse(token, EnumTokenType.TOKEN);
+        if (claims.userID() == null) {
+            throw new ElementNotFoundException("User not found");
+        }
+        tokenSessionService.revokeAllSessions(claims.userID());
+        return logout(request, response);
     }
 
     @Override
@@ -406,14 +407,9 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         }
 
         CustomUserDetail userDetail = CustomUserDetail.mapUserToUserDetail(user);
-        String token = jwtToken.generatedToken(userDetail);
-        String refreshToken = jwtToken.generatedRefreshToken(userDetail);
+        TokenSessionService.Tokens tokens = tokenSessionService.createSession(userDetail);
 
-        user.setAccessToken(token);
-        user.setRefreshToken(refreshToken);
-        userRepository.save(user);
-
-        return new TokenResponse("Success", "Login successfully", token, refreshToken, user.getFullName(), user.getEmail());
+        return new TokenResponse("Success", "Login successfully", tokens.token(), tokens.refreshToken(), user.getFullName(), user.getEmail());
     }
 
     @Override
@@ -426,8 +422,6 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         User user = User.builder()
                 .email(userCreateRequest.getEmail())
                 .password(bCryptPasswordEncoder.encode(userCreateRequest.getPassword()))
-                .accessToken(null)
-                .refreshToken(null)
                 .enabled(true)
                 .nonLocked(true)
                 .role(role)
@@ -447,7 +441,9 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
         user.setNonLocked(true);
         user.setDeleted(false);
         user.setEnabled(true);
-        return userMapper.userToUserDTO(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        userPrincipalCache.evict(savedUser.getEmail());
+        return userMapper.userToUserDTO(savedUser);
     }
 
     @Override
@@ -500,12 +496,16 @@ public class UserServiceImpl extends BaseServiceImpl<User, Integer> implements U
             customer.setDeleted(true);
             customerRepository.save(customer);
         }
-        return userMapper.userToUserDTO(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        userPrincipalCache.evict(savedUser.getEmail());
+        tokenSessionService.revokeAllSessions(userID);
+        return userMapper.userToUserDTO(savedUser);
     }
 
     @Override
     public int countNumberOfRegisterToday() {
-        return userRepository.countNumberOfRegisterToday();
+        LocalDate today = LocalDate.now();
+        return userRepository.countNumberOfRegisterBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
     }
 
 }
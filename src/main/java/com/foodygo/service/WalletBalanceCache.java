@@ -0,0 +1,132 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.response.WalletBalanceResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis cache of wallet balances, plus the customer and restaurant to wallet id mappings used to find them.
+ * Balance changes are written through once their database transaction has committed, so a rolled back change is never
+ * visible. Each write carries the id of the transaction that produced the balance and an older write never replaces a
+ * newer one, which keeps concurrent commits and read-populated entries from going back in time.
+ */
+@Slf4j
+@Component
+public class WalletBalanceCache {
+
+    private static final String BALANCE_PREFIX = "wallet:balance:";
+    private static final String CUSTOMER_PREFIX = "wallet:customer:";
+    private static final String RESTAURANT_PREFIX = "wallet:restaurant:";
+    private static final long LOADED_VERSION = 0;
+
+    private static final RedisScript<Long> PUT_SCRIPT = RedisScript.of(new ClassPathResource("scripts/wallet/put-balance.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration balanceTtl;
+    private final Duration ownerTtl;
+
+    public WalletBalanceCache(StringRedisTemplate stringRedisTemplate,
+                              @Value("${application.cache.wallet.balance-ttl-seconds}") long balanceTtlSeconds,
+                              @Value("${application.cache.wallet.owner-ttl-seconds}") long ownerTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.balanceTtl = Duration.ofSeconds(balanceTtlSeconds);
+        this.ownerTtl = Duration.ofSeconds(ownerTtlSeconds);
+    }
+
+    public WalletBalanceResponse get(Integer walletId) {
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(BALANCE_PREFIX + walletId, List.of("balance"));
+            Object balance = values.isEmpty() ? null : values.get(0);
+            return balance == null ? null : new WalletBalanceResponse(walletId, Double.valueOf(balance.toString()));
+        } catch (Exception e) {
+            log.warn("Cannot read balance of wallet {} from redis: {}", walletId, e.toString());
+            return null;
+        }
+    }
+
+    public Integer getWalletIdByCustomerId(Integer customerId) {
+        return getWalletId(CUSTOMER_PREFIX + customerId);
+    }
+
+    public Integer getWalletIdByRestaurantId(Integer restaurantId) {
+        return getWalletId(RESTAURANT_PREFIX + restaurantId);
+    }
+
+    // a wallet is loaded from the committed database state, so any balance written through later has a higher version
+    public void putLoaded(WalletBalanceResponse wallet) {
+        put(wallet.getId(), wallet.getBalance(), LOADED_VERSION);
+    }
+
+    public void putCustomerWallet(Integer customerId, Integer walletId) {
+        putWalletId(CUSTOMER_PREFIX + customerId, walletId);
+    }
+
+    public void putRestaurantWallet(Integer restaurantId, Integer walletId) {
+        putWalletId(RESTAURANT_PREFIX + restaurantId, walletId);
+    }
+
+    /**
+     * Writes the balance left by a wallet transaction once the surrounding database transaction commits.
+     */
+    public void putAfterCommit(Integer walletId, Double balance, Integer transactionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(walletId, balance, transactionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(walletId, balance, transactionId);
+            }
+        });
+    }
+
+    public void evict(Integer walletId) {
+        try {
+            stringRedisTemplate.delete(BALANCE_PREFIX + walletId);
+        } catch (Exception e) {
+            log.warn("Cannot evict balance of wallet {} from redis: {}", walletId, e.toString());
+        }
+    }
+
+    private void put(Integer walletId, Double balance, long version) {
+        if (balance == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(PUT_SCRIPT, List.of(BALANCE_PREFIX + walletId),
+                    balance.toString(), String.valueOf(version), String.valueOf(balanceTtl.toSeconds()));
+        } catch (Exception e) {
+            // a balance that could not be written must not stay cached with its old value
+            log.warn("Cannot write balance of wallet {} to redis: {}", walletId, e.toString());
+            evict(walletId);
+        }
+    }
+
+    private Integer getWalletId(String key) {
+        try {
+            String walletId = stringRedisTemplate.opsForValue().get(key);
+            return walletId == null ? null : Integer.valueOf(walletId);
+        } catch (Exception e) {
+            log.warn("Cannot read wallet id {} from redis: {}", key, e.toString());
+            return null;
+        }
+    }
+
+    private void putWalletId(String key, Integer walletId) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, String.valueOf(walletId), ownerTtl);
+        } catch (Exception e) {
+            log.warn("Cannot write wallet id {} to redis: {}", key, e.toString());
+        }
+    }
+}
@@ -3,11 +3,14 @@ package com.foodygo.service;
 import com.foodygo.dto.response.WalletBalanceResponse;
 import com.foodygo.entity.Wallet;
 
+import java.math.BigDecimal;
+
 public interface WalletService {
 
     WalletBalanceResponse getWalletByCustomerId(Integer customerId);
     WalletBalanceResponse getWalletByRestaurantId(Integer restaurantId);
     double getWalletBalance(Integer walletId);
+    BigDecimal getLedgerBalance(Integer walletId);
     Wallet createWallet(Wallet wallet);
     void deleteWallet(Integer walletId);
 
@@ -3,36 +3,69 @@ package com.foodygo.service;
 import com.foodygo.dto.response.WalletBalanceResponse;
 import com.foodygo.entity.Wallet;
 import com.foodygo.exception.IdNotFoundException;
-import com.foodygo.mapper.WalletMapper;
 import com.foodygo.repository.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+
 @Service
 @RequiredArgsConstructor
 public class WalletServiceImpl implements WalletService{
 
     private final WalletRepository walletRepository;
+    private final LedgerService ledgerService;
+    private final WalletBalanceCache walletBalanceCache;
 
     @Override
     public WalletBalanceResponse getWalletByCustomerId(Integer customerId) {
-        return WalletMapper.INSTANCE.toDTO( walletRepository.findByCustomerId(customerId)
-                .orElseThrow(() -> new IdNotFoundException("Wallet not found for customer: " + customerId)));
+        WalletBalanceResponse cached = getCached(walletBalanceCache.getWalletIdByCustomerId(customerId));
+        if (cached != null) {
+            return cached;
+        }
+        WalletBalanceResponse wallet = walletRepository.findBalanceResponseByCustomerId(customerId)
+                .orElseThrow(() -> new IdNotFoundException("Wallet not found for customer: " + customerId));
+        walletBalanceCache.putCustomerWallet(customerId, wallet.getId());
+        walletBalanceCache.putLoaded(wallet);
+        return wallet;
     }
 
     @Override
     public WalletBalanceResponse getWalletByRestaurantId(Integer restaurantId) {
-        return WalletMapper.INSTANCE.toDTO( walletRepository.findByRestaurantId(restaurantId)
-                .orElseThrow(() -> new IdNotFoundException("Wallet not found for restaurant: " + restaurantId)));
+        WalletBalanceResponse cached = getCached(walletBalanceCache.getWalletIdByRestaurantId(restaurantId));
+        if (cached != null) {
+            return cached;
+        }
+        WalletBalanceResponse wallet = walletRepository.findBalanceResponseByRestaurantId(restaurantId)
+                .orElseThrow(() -> new IdNotFoundException("Wallet not found for restaurant: " + restaurantId));
+        walletBalanceCache.putRestaurantWallet(restaurantId, wallet.getId());
+        walletBalanceCache.putLoaded(wallet);
+        return wallet;
     }
 
     @Override
     public double getWalletBalance(Integer walletId) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new IdNotFoundException("Wallet not found"));
+        WalletBalanceResponse wallet = getCached(walletId);
+        if (wallet == null) {
+            wallet = walletRepository.findBalanceResponseById(walletId)
+                    .orElseThrow(() -> new IdNotFoundException("Wallet not found"));
+            walletBalanceCache.putLoaded(wallet);
+        }
         return wallet.getBalance();
     }
 
+    private WalletBalanceResponse getCached(Integer walletId) {
+        return walletId == null ? null : walletBalanceCache.get(walletId);
+    }
+
+    @Override
+    public BigDecimal getLedgerBalance(Integer walletId) {
+        if (!walletRepository.existsById(walletId)) {
+            throw new IdNotFoundException("Wallet not found");
+        }
+        return ledgerService.getBalance(walletId);
+    }
+
     @Override
     public Wallet createWallet(Wallet wallet) {
         return walletRepository.save(wallet);
@@ -44,5 +77,6 @@ public class WalletServiceImpl implements WalletService{
             throw new IdNotFoundException("Wallet not found");
         }
         walletRepository.deleteById(walletId);
+        walletBalanceCache.evict(walletId);
     }
 }
\ No newline at end of file
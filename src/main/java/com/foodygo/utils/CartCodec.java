@@ -0,0 +1,200 @@
+package com.foodygo.utils;
+
+import com.foodygo.dto.cart.CartAddOnItem;
+import com.foodygo.dto.cart.CartItem;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes cart lines as positional MessagePack arrays, the format the cart Lua scripts read and write with {@code cmsgpack}:
+ * {@code [productId, productName, price, quantity, [[addOnItemId, addOnItemName, price, quantity], ...]]}.
+ * Field names are not stored and whole-number prices are written as integers, which keeps a line at a fraction of its JSON size.
+ * Nulls are written as zero or an empty string, because a nil inside a Lua table would turn the array into a map on re-encoding.
+ */
+public final class CartCodec {
+
+    private CartCodec() {
+    }
+
+    public static byte[] encode(CartItem item) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        List<CartAddOnItem> addOns = item.getCartAddOnItems() == null ? List.of() : item.getCartAddOnItems();
+        writeArrayHeader(out, 5);
+        writeNumber(out, item.getProductId());
+        writeString(out, item.getProductName());
+        writeNumber(out, item.getPrice());
+        writeNumber(out, item.getQuantity());
+        writeArrayHeader(out, addOns.size());
+        for (CartAddOnItem addOn : addOns) {
+            writeArrayHeader(out, 4);
+            writeNumber(out, addOn.getAddOnItemId());
+            writeString(out, addOn.getAddOnItemName());
+            writeNumber(out, addOn.getPrice());
+            writeNumber(out, addOn.getQuantity());
+        }
+        return out.toByteArray();
+    }
+
+    public static CartItem decode(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        readArrayHeader(in);
+        CartItem item = new CartItem();
+        item.setProductId(readNumber(in).intValue());
+        item.setProductName(readString(in));
+        item.setPrice(readNumber(in).doubleValue());
+        item.setQuantity(readNumber(in).intValue());
+        int size = readArrayHeader(in);
+        List<CartAddOnItem> addOns = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            readArrayHeader(in);
+            addOns.add(new CartAddOnItem(readNumber(in).intValue(), readString(in), readNumber(in).doubleValue(), readNumber(in).intValue()));
+        }
+        item.setCartAddOnItems(addOns);
+        return item;
+    }
+
+    private static void writeArrayHeader(ByteArrayOutputStream out, int size) {
+        if (size < 16) {
+            out.write(0x90 | size);
+        } else {
+            out.write(0xdc);
+            writeShort(out, size);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            out.write(0xa0 | bytes.length);
+        } else if (bytes.length <= 0xff) {
+            out.write(0xd9);
+            out.write(bytes.length);
+        } else if (bytes.length <= 0xffff) {
+            out.write(0xda);
+            writeShort(out, bytes.length);
+        } else {
+            out.write(0xdb);
+            writeInt(out, bytes.length);
+        }
+        out.writeBytes(bytes);
+    }
+
+    private static void writeNumber(ByteArrayOutputStream out, Number value) {
+        double number = value == null ? 0 : value.doubleValue();
+        if (number == Math.rint(number) && Math.abs(number) <= Integer.MAX_VALUE) {
+            writeInteger(out, (int) number);
+        } else if ((float) number == number) {
+            out.write(0xca);
+            writeInt(out, Float.floatToIntBits((float) number));
+        } else {
+            out.write(0xcb);
+            long bits = Double.doubleToLongBits(number);
+            writeInt(out, (int) (bits >>> 32));
+            writeInt(out, (int) bits);
+        }
+    }
+
+    // the same smallest-type choice as cmsgpack, so a line re-packed by a script keeps its bytes
+    private static void writeInteger(ByteArrayOutputStream out, int value) {
+        if (value >= 0) {
+            if (value < 128) {
+                out.write(value);
+            } else if (value <= 0xff) {
+                out.write(0xcc);
+                out.write(value);
+            } else if (value <= 0xffff) {
+                out.write(0xcd);
+                writeShort(out, value);
+            } else {
+                out.write(0xce);
+                writeInt(out, value);
+            }
+        } else if (value >= -32) {
+            out.write(value & 0xff);
+        } else if (value >= Byte.MIN_VALUE) {
+            out.write(0xd0);
+            out.write(value & 0xff);
+        } else if (value >= Short.MIN_VALUE) {
+            out.write(0xd1);
+            writeShort(out, value & 0xffff);
+        } else {
+            out.write(0xd2);
+            writeInt(out, value);
+        }
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        writeShort(out, value >>> 16);
+        writeShort(out, value & 0xffff);
+    }
+
+    private static int readArrayHeader(ByteBuffer in) {
+        int type = in.get() & 0xff;
+        if ((type & 0xf0) == 0x90) {
+            return type & 0x0f;
+        }
+        return switch (type) {
+            case 0xdc -> in.getShort() & 0xffff;
+            case 0xdd -> in.getInt();
+            // cmsgpack encodes an empty Lua table as an empty array, but accept an empty map as well
+            case 0x80 -> 0;
+            default -> throw new IllegalStateException("Corrupted cart line: expected array, got 0x" + Integer.toHexString(type));
+        };
+    }
+
+    private static String readString(ByteBuffer in) {
+        int type = in.get() & 0xff;
+        int length;
+        if ((type & 0xe0) == 0xa0) {
+            length = type & 0x1f;
+        } else {
+            length = switch (type) {
+                case 0xc0 -> 0;
+                case 0xd9, 0xc4 -> in.get() & 0xff;
+                case 0xda, 0xc5 -> in.getShort() & 0xffff;
+                case 0xdb, 0xc6 -> in.getInt();
+                default -> throw new IllegalStateException("Corrupted cart line: expected string, got 0x" + Integer.toHexString(type));
+            };
+        }
+        String value = new String(data(in, length), StandardCharsets.UTF_8);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static byte[] data(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static Number readNumber(ByteBuffer in) {
+        int type = in.get() & 0xff;
+        if (type < 0x80) {
+            return type;
+        }
+        if (type >= 0xe0) {
+            return (byte) type;
+        }
+        return switch (type) {
+            case 0xc0 -> 0;
+            case 0xca -> in.getFloat();
+            case 0xcb -> in.getDouble();
+            case 0xcc -> in.get() & 0xff;
+            case 0xcd -> in.getShort() & 0xffff;
+            case 0xce -> in.getInt() & 0xffffffffL;
+            case 0xcf, 0xd3 -> in.getLong();
+            case 0xd0 -> in.get();
+            case 0xd1 -> in.getShort();
+            case 0xd2 -> in.getInt();
+            default -> throw new IllegalStateException("Corrupted cart line: expected number, got 0x" + Integer.toHexString(type));
+        };
+    }
+}
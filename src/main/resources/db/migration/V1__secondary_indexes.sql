@@ -0,0 +1,45 @@
+-- Secondary indexes for the hot lookup, filter and feed queries.
+-- Tables are still created by Hibernate (ddl-auto: update), migrations run once the schema is up to date.
+-- An index that already exists under the same name is skipped, so the script also runs on databases
+-- where the feed indexes were created from @Index declarations.
+DROP PROCEDURE IF EXISTS create_index_if_missing;
+
+DELIMITER //
+CREATE PROCEDURE create_index_if_missing(IN table_name_in VARCHAR(64), IN index_name_in VARCHAR(64), IN columns_in VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM information_schema.statistics
+                   WHERE table_schema = DATABASE()
+                     AND table_name = table_name_in
+                     AND index_name = index_name_in) THEN
+        SET @ddl = CONCAT('CREATE INDEX `', index_name_in, '` ON `', table_name_in, '` (', columns_in, ')');
+        PREPARE statement FROM @ddl;
+        EXECUTE statement;
+        DEALLOCATE PREPARE statement;
+    END IF;
+END //
+DELIMITER ;
+
+-- menu listings: findByRestaurantIdAndDeletedFalse, findByCategoryIdAndDeletedFalse, findBySectionIdAndDeletedFalse
+CALL create_index_if_missing('product', 'idx_product_restaurant', 'restaurant_id, deleted');
+CALL create_index_if_missing('product', 'idx_product_category', 'category_id, deleted');
+CALL create_index_if_missing('category', 'idx_category_restaurant', 'restaurant_id, deleted');
+CALL create_index_if_missing('addon-item', 'idx_addon_item_section', 'section_id, deleted');
+
+-- wallet history: findByWalletIdAndType and the transaction feed
+CALL create_index_if_missing('account-transaction', 'idx_transaction_wallet_type', 'wallet_id, type');
+CALL create_index_if_missing('account-transaction', 'idx_transaction_wallet_time', 'wallet_id, `time`, id');
+
+-- order activity: findByOrderIdOrderByTimeDesc and the activity feed
+CALL create_index_if_missing('order-activity', 'idx_order_activity_order_time', 'order_id, `time`, id');
+
+-- order feeds, newest first by (created_at, id) with an optional owner filter
+CALL create_index_if_missing('customer-order', 'idx_order_created', 'created_at, id');
+CALL create_index_if_missing('customer-order', 'idx_order_customer_created', 'customer_id, created_at, id');
+CALL create_index_if_missing('customer-order', 'idx_order_employee_created', 'employee_id, created_at, id');
+CALL create_index_if_missing('customer-order', 'idx_order_restaurant_created', 'restaurant_id, created_at, id');
+
+-- registrations per day, queried as a created_at range
+CALL create_index_if_missing('user-account', 'idx_user_created', 'created_at');
+
+DROP PROCEDURE create_index_if_missing;
@@ -0,0 +1,8 @@
+-- Opening checkpoints for the ledger: the balance every existing wallet had before any ledger entry was posted.
+INSERT INTO `balance-checkpoint` (wallet_id, balance, last_entry_id, checkpointed_at)
+SELECT w.id, COALESCE(w.balance, 0), 0, NOW()
+FROM wallet w
+WHERE NOT EXISTS (SELECT 1 FROM `balance-checkpoint` c WHERE c.wallet_id = w.id);
+
+-- a wallet balance is its checkpoint plus the sum of its entries after the checkpoint
+CREATE INDEX idx_ledger_entry_wallet ON `ledger-entry` (wallet_id, id);
@@ -0,0 +1,28 @@
+-- The transaction feed is ordered by (created_at, id): time was left NULL by older releases, which dropped those rows from the feed.
+-- Rows written before created_at was populated fall back to their time, or to the migration time when both are missing.
+UPDATE `account-transaction`
+SET created_at = COALESCE(`time`, NOW())
+WHERE created_at IS NULL;
+
+SET @ddl = IF(EXISTS(SELECT 1
+                     FROM information_schema.statistics
+                     WHERE table_schema = DATABASE()
+                       AND table_name = 'account-transaction'
+                       AND index_name = 'idx_transaction_wallet_created'),
+              'DO 0',
+              'CREATE INDEX `idx_transaction_wallet_created` ON `account-transaction` (wallet_id, created_at, id)');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+-- the feed no longer reads time, its index has no other user
+SET @ddl = IF(EXISTS(SELECT 1
+                     FROM information_schema.statistics
+                     WHERE table_schema = DATABASE()
+                       AND table_name = 'account-transaction'
+                       AND index_name = 'idx_transaction_wallet_time'),
+              'DROP INDEX `idx_transaction_wallet_time` ON `account-transaction`',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
@@ -0,0 +1,21 @@
+-- Idempotency keys are unique per wallet that starts the operation: the primary key becomes (wallet_id, id) instead of (id).
+-- Hibernate has already added wallet_id and request_hash. Keys claimed before get the wallet of the transaction they produced;
+-- a committed key always has one, the claim and the transaction share a database transaction.
+UPDATE `idempotency-key` k
+    JOIN `account-transaction` t ON t.id = k.transaction_id
+SET k.wallet_id = t.wallet_id
+WHERE k.wallet_id IS NULL OR k.wallet_id = 0;
+
+DELETE FROM `idempotency-key` WHERE wallet_id IS NULL OR wallet_id = 0;
+
+-- databases created after the change already have the composite key
+SET @ddl = IF((SELECT COUNT(*)
+               FROM information_schema.key_column_usage
+               WHERE table_schema = DATABASE()
+                 AND table_name = 'idempotency-key'
+                 AND constraint_name = 'PRIMARY') = 1,
+              'ALTER TABLE `idempotency-key` DROP PRIMARY KEY, ADD PRIMARY KEY (wallet_id, id)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
@@ -0,0 +1,6 @@
+-- The checkpoint watermark moves from MAX(balance-checkpoint.last_entry_id) to a single locked row, see LedgerWatermark.
+-- It starts where the checkpoints are; the first run only records the cutoff for the run after it.
+INSERT INTO `ledger-watermark` (id, last_entry_id, pending_entry_id, pending_at)
+SELECT 1, COALESCE(MAX(c.last_entry_id), 0), COALESCE(MAX(c.last_entry_id), 0), NOW()
+FROM `balance-checkpoint` c
+WHERE NOT EXISTS (SELECT 1 FROM `ledger-watermark` w WHERE w.id = 1);
@@ -0,0 +1,17 @@
+-- KEYS[1]: cart hash, ARGV[1]: product id, ARGV[2]: msgpack encoded line, ARGV[3]: idle expiry in seconds
+-- Adds a line, or increases the quantity of an existing line.
+-- The incoming line carries server-side prices, so a merged line is repriced with them as well.
+dropLegacy(KEYS[1])
+
+local line = cmsgpack.unpack(ARGV[2])
+local previous = 0
+local existing = redis.call('HGET', KEYS[1], ARGV[1])
+if existing then
+    local current = decodeLine(existing)
+    previous = lineTotal(current)
+    line[QUANTITY] = current[QUANTITY] + line[QUANTITY]
+end
+
+redis.call('HSET', KEYS[1], ARGV[1], cmsgpack.pack(line))
+addToTotal(KEYS[1], lineTotal(line) - previous)
+return readCart(KEYS[1], ARGV[3])
@@ -0,0 +1,10 @@
+-- KEYS[1]: cart hash, KEYS[2]: key the cart is claimed under, ARGV[1]: idle expiry in seconds
+-- Moves the cart aside for a checkout, so a concurrent checkout finds it empty instead of ordering it a second time.
+-- The claimed cart keeps the idle expiry, it is dropped on its own if the instance dies before finishing the checkout.
+dropLegacy(KEYS[1])
+
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return {}
+end
+redis.call('RENAME', KEYS[1], KEYS[2])
+return readCart(KEYS[2], ARGV[1])
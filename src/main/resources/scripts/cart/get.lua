@@ -0,0 +1,3 @@
+-- KEYS[1]: cart hash, ARGV[1]: idle expiry in seconds
+dropLegacy(KEYS[1])
+return readCart(KEYS[1], ARGV[1])
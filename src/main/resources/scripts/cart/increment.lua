@@ -0,0 +1,23 @@
+-- KEYS[1]: cart hash, ARGV[1]: product id, ARGV[2]: quantity delta, ARGV[3]: idle expiry in seconds
+-- Changes the quantity of an existing line; the line is removed when its quantity drops to zero,
+-- and the cart once its last line is gone.
+dropLegacy(KEYS[1])
+
+local existing = redis.call('HGET', KEYS[1], ARGV[1])
+if not existing then
+    return readCart(KEYS[1], ARGV[3])
+end
+
+local line = decodeLine(existing)
+local previous = lineTotal(line)
+line[QUANTITY] = line[QUANTITY] + tonumber(ARGV[2])
+
+if line[QUANTITY] > 0 then
+    redis.call('HSET', KEYS[1], ARGV[1], cmsgpack.pack(line))
+    addToTotal(KEYS[1], lineTotal(line) - previous)
+else
+    redis.call('HDEL', KEYS[1], ARGV[1])
+    addToTotal(KEYS[1], -previous)
+    dropIfEmpty(KEYS[1])
+end
+return readCart(KEYS[1], ARGV[3])
@@ -0,0 +1,99 @@
+-- Helpers prepended to every cart script when it is loaded.
+-- A cart line is a msgpack array {productId, productName, price, quantity, {{addOnItemId, addOnItemName, price, quantity}, ...}}.
+-- The hash also keeps the cart total in integer minor units in a 'total' field. Every change moves it by the lineTotal
+-- difference of the line it touched, so a cart is never summed on read and integer arithmetic keeps the total from drifting.
+local PRICE, QUANTITY, ADD_ONS = 3, 4, 5
+local TOTAL = 'total'
+
+local function minor(amount)
+    return math.floor(amount * 100 + 0.5)
+end
+
+local function lineTotal(line)
+    local total = minor(line[PRICE]) * line[QUANTITY]
+    for _, addOn in ipairs(line[ADD_ONS]) do
+        total = total + minor(addOn[3]) * addOn[4]
+    end
+    return total
+end
+
+local function number(value)
+    return tonumber(value) or 0
+end
+
+local function text(value)
+    if type(value) == 'string' then
+        return value
+    end
+    return ''
+end
+
+-- lines written by the previous JSON format start with '{' and are converted on read
+local function decodeLine(raw)
+    if string.byte(raw, 1) ~= 123 then
+        return cmsgpack.unpack(raw)
+    end
+    local item = cjson.decode(raw)
+    local addOns = {}
+    if type(item.cartAddOnItems) == 'table' then
+        for _, addOn in ipairs(item.cartAddOnItems) do
+            addOns[#addOns + 1] = { number(addOn.addOnItemId), text(addOn.addOnItemName), number(addOn.price), number(addOn.quantity) }
+        end
+    end
+    return { number(item.productId), text(item.productName), number(item.price), number(item.quantity), addOns }
+end
+
+-- carts stored as a single JSON string by older releases are dropped instead of failing with WRONGTYPE.
+-- Carts without a total, or with the decimal total older releases kept, get it summed from their lines once.
+local function dropLegacy(key)
+    if redis.call('TYPE', key).ok == 'string' then
+        redis.call('DEL', key)
+        return
+    end
+    local total = redis.call('HGET', key, TOTAL)
+    if total and string.find(total, '^%-?%d+$') then
+        return
+    end
+    local fields = redis.call('HGETALL', key)
+    local sum, lines = 0, 0
+    for i = 1, #fields, 2 do
+        if fields[i] ~= TOTAL then
+            sum = sum + lineTotal(decodeLine(fields[i + 1]))
+            lines = lines + 1
+        end
+    end
+    if lines == 0 then
+        redis.call('DEL', key)
+    else
+        redis.call('HSET', key, TOTAL, string.format('%d', sum))
+    end
+end
+
+local function addToTotal(key, amount)
+    if amount ~= 0 then
+        redis.call('HINCRBY', key, TOTAL, amount)
+    end
+end
+
+-- the total is the last field left once every line is gone, the cart is deleted with it
+local function dropIfEmpty(key)
+    if redis.call('HLEN', key) <= 1 then
+        redis.call('DEL', key)
+    end
+end
+
+-- returns the whole cart including its total, rewriting any JSON lines as msgpack and refreshing the idle expiry
+local function readCart(key, ttl)
+    local fields = redis.call('HGETALL', key)
+    if #fields == 0 then
+        return fields
+    end
+    for i = 1, #fields, 2 do
+        if fields[i] ~= TOTAL and string.byte(fields[i + 1], 1) == 123 then
+            fields[i + 1] = cmsgpack.pack(decodeLine(fields[i + 1]))
+            redis.call('HSET', key, fields[i], fields[i + 1])
+        end
+    end
+    redis.call('EXPIRE', key, ttl)
+    return fields
+end
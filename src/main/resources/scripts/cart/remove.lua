@@ -0,0 +1,11 @@
+-- KEYS[1]: cart hash, ARGV[1]: product id, ARGV[2]: idle expiry in seconds
+-- Removes a line; the cart is deleted once its last line is gone.
+dropLegacy(KEYS[1])
+
+local existing = redis.call('HGET', KEYS[1], ARGV[1])
+if existing then
+    redis.call('HDEL', KEYS[1], ARGV[1])
+    addToTotal(KEYS[1], -lineTotal(decodeLine(existing)))
+    dropIfEmpty(KEYS[1])
+end
+return readCart(KEYS[1], ARGV[2])
@@ -0,0 +1,22 @@
+-- KEYS[1]: claimed cart, KEYS[2]: cart hash, ARGV[1]: idle expiry in seconds
+-- Puts the lines of a failed checkout back. Lines added to the cart in the meantime are kept and their quantities merged.
+dropLegacy(KEYS[2])
+
+local claimed = redis.call('HGETALL', KEYS[1])
+for i = 1, #claimed, 2 do
+    if claimed[i] ~= TOTAL then
+        local line = decodeLine(claimed[i + 1])
+        local previous = 0
+        local existing = redis.call('HGET', KEYS[2], claimed[i])
+        if existing then
+            local current = decodeLine(existing)
+            previous = lineTotal(current)
+            current[QUANTITY] = current[QUANTITY] + line[QUANTITY]
+            line = current
+        end
+        redis.call('HSET', KEYS[2], claimed[i], cmsgpack.pack(line))
+        addToTotal(KEYS[2], lineTotal(line) - previous)
+    end
+end
+redis.call('DEL', KEYS[1])
+return readCart(KEYS[2], ARGV[1])
@@ -0,0 +1,11 @@
+-- Replaces a menu document only if it is still the one the patch was computed from.
+-- The generation is bumped as well, so a rebuild that read the products before the change cannot overwrite the patch.
+-- KEYS[1] menu hash, KEYS[2] generation of the menu, ARGV[1] expected etag, ARGV[2] new etag, ARGV[3] new gzipped body,
+-- ARGV[4] ttl in seconds
+if redis.call('HGET', KEYS[1], 'etag') ~= ARGV[1] then
+    return 0
+end
+redis.call('INCR', KEYS[2])
+redis.call('HSET', KEYS[1], 'etag', ARGV[2], 'body', ARGV[3])
+redis.call('EXPIRE', KEYS[1], ARGV[4])
+return 1
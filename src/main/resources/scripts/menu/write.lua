@@ -0,0 +1,9 @@
+-- Stores a rebuilt menu document only if no change committed since the rebuild started reading.
+-- KEYS[1] menu hash, KEYS[2] generation of the menu, ARGV[1] generation read before the rebuild, ARGV[2] etag,
+-- ARGV[3] gzipped body, ARGV[4] ttl in seconds
+if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+    return 0
+end
+redis.call('HSET', KEYS[1], 'etag', ARGV[2], 'body', ARGV[3])
+redis.call('EXPIRE', KEYS[1], ARGV[4])
+return 1
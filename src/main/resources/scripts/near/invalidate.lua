@@ -0,0 +1,8 @@
+-- Drops entries and bumps their versions, so a load that started before the change cannot cache its stale value.
+-- KEYS[2i-1] entry, KEYS[2i] version of that entry, ARGV[1] seconds a version is kept, at least the ttl of the entries
+for i = 1, #KEYS, 2 do
+    redis.call('DEL', KEYS[i])
+    redis.call('INCR', KEYS[i + 1])
+    redis.call('EXPIRE', KEYS[i + 1], ARGV[1])
+end
+return #KEYS / 2
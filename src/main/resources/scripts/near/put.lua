@@ -0,0 +1,7 @@
+-- Caches a loaded value only if its key was not invalidated while the value was being loaded.
+-- KEYS[1] entry, KEYS[2] version of the entry, ARGV[1] version read before loading, ARGV[2] value, ARGV[3] ttl in seconds
+if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+return 1
@@ -0,0 +1,10 @@
+-- Caches a wallet balance unless a newer one is cached already.
+-- Versions are ids of the transaction that produced the balance; balances loaded from the database carry version 0.
+-- KEYS[1] balance hash, ARGV[1] balance, ARGV[2] version, ARGV[3] ttl in seconds
+local current = tonumber(redis.call('HGET', KEYS[1], 'version'))
+if current and current > tonumber(ARGV[2]) then
+    return 0
+end
+redis.call('HSET', KEYS[1], 'balance', ARGV[1], 'version', ARGV[2])
+redis.call('EXPIRE', KEYS[1], ARGV[3])
+return 1
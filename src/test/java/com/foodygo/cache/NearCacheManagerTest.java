@@ -0,0 +1,47 @@
+package com.foodygo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Without Redis the caches only use their local level, which is all the invalidation messages act on.
+ */
+class NearCacheManagerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NearCacheManager nearCacheManager = new NearCacheManager(null, objectMapper, null, 100, 60, 60);
+
+    @Test
+    void keysWithSeparatorsAreEvicted() throws Exception {
+        NearCache<String> cache = nearCacheManager.getCache("principal", String.class);
+        String email = "\"first,last:name\"@foodygo.vn";
+        cache.get(email, () -> "old");
+        cache.get("other", () -> "kept");
+
+        nearCacheManager.onMessage(message(new NearCacheManager.Invalidation("principal", List.of(email))), null);
+
+        assertThat(cache.get(email, () -> "new")).isEqualTo("new");
+        assertThat(cache.get("other", () -> "reloaded")).isEqualTo("kept");
+    }
+
+    @Test
+    void messagesOfUnknownCachesAndUnreadableMessagesAreIgnored() throws Exception {
+        NearCache<String> cache = nearCacheManager.getCache("product", String.class);
+        cache.get("1", () -> "cached");
+
+        nearCacheManager.onMessage(message(new NearCacheManager.Invalidation("category", List.of("1"))), null);
+        nearCacheManager.onMessage(new DefaultMessage(new byte[0], "product:1".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(cache.get("1", () -> "reloaded")).isEqualTo("cached");
+    }
+
+    private DefaultMessage message(NearCacheManager.Invalidation invalidation) throws Exception {
+        return new DefaultMessage(new byte[0], objectMapper.writeValueAsBytes(invalidation));
+    }
+}
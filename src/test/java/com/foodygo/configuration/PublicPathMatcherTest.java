@@ -0,0 +1,70 @@
+package com.foodygo.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PublicPathMatcherTest {
+
+    // the public paths of JWTAuthenticationFilter
+    private static final List<String> PATTERNS = List.of(
+            "/swagger-ui/**",
+            "/v3/**",
+            "/api-docs/**",
+            "/swagger-resources/**",
+            "/api/v1/authentications/**",
+            "/oauth2/**",
+            "/login/oauth2/**",
+            "/login/**",
+            "/login",
+            "/oauth2/authorization/**",
+            "/favicon.ico"
+    );
+
+    private static final List<String> URIS = List.of(
+            "", "/", "/login", "/login/", "/login/oauth2/code/google", "/loginx", "/logi", "/Login",
+            "/swagger-ui", "/swagger-ui/", "/swagger-ui/index.html", "/swagger-uix", "/swagger-ui.html",
+            "/v3", "/v3/api-docs", "/v3/api-docs/swagger-config", "/v", "/v31", "/v3x/a",
+            "/api/v1/authentications/login", "/api/v1/authentications", "/api/v1/authenticationsx",
+            "/api/v1/users", "/api/v1/orders/1", "/oauth2/authorization/google", "/oauth2", "/oauth",
+            "/favicon.ico", "/favicon.ico/", "/favicon.icon", "/favicon", "/api-docs", "/api-docs/x/y/z",
+            "/swagger-resources/configuration/ui", "login", "swagger-ui/index.html"
+    );
+
+    private final PublicPathMatcher matcher = new PublicPathMatcher(PATTERNS);
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    @Test
+    void agreesWithAntPathMatcher() {
+        List<String> uris = new ArrayList<>(URIS);
+        // every prefix of every pattern, with and without a trailing segment
+        for (String pattern : PATTERNS) {
+            String path = pattern.replace("/**", "");
+            for (int i = 0; i <= path.length(); i++) {
+                uris.add(path.substring(0, i));
+                uris.add(path.substring(0, i) + "/a");
+                uris.add(path.substring(0, i) + "a");
+            }
+        }
+        for (String uri : uris) {
+            boolean expected = PATTERNS.stream().anyMatch(pattern -> antPathMatcher.match(pattern, uri));
+            assertThat(matcher.matches(uri)).as(uri).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void rejectsNull() {
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    void rejectsPatternsItCannotMatch() {
+        assertThatThrownBy(() -> new PublicPathMatcher(List.of("/api/*/public"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PublicPathMatcher(List.of("/users/{id}"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,243 @@
+package com.foodygo.controller;
+
+import com.foodygo.TestcontainersConfiguration;
+import com.foodygo.configuration.SqlStatementCounter;
+import com.foodygo.dto.response.SqlCountResponse;
+import com.foodygo.entity.Building;
+import com.foodygo.entity.Category;
+import com.foodygo.entity.Customer;
+import com.foodygo.entity.Hub;
+import com.foodygo.entity.Order;
+import com.foodygo.entity.OrderActivity;
+import com.foodygo.entity.OrderDetail;
+import com.foodygo.entity.Product;
+import com.foodygo.entity.Restaurant;
+import com.foodygo.entity.Role;
+import com.foodygo.entity.Transaction;
+import com.foodygo.entity.User;
+import com.foodygo.entity.Wallet;
+import com.foodygo.enums.EnumRoleNameType;
+import com.foodygo.enums.OrderStatus;
+import com.foodygo.enums.TransactionType;
+import com.foodygo.enums.WalletType;
+import com.foodygo.repository.BuildingRepository;
+import com.foodygo.repository.CategoryRepository;
+import com.foodygo.repository.CustomerRepository;
+import com.foodygo.repository.HubRepository;
+import com.foodygo.repository.OrderActivityRepository;
+import com.foodygo.repository.OrderDetailRepository;
+import com.foodygo.repository.OrderRepository;
+import com.foodygo.repository.ProductRepository;
+import com.foodygo.repository.RestaurantRepository;
+import com.foodygo.repository.RoleRepository;
+import com.foodygo.repository.TransactionRepository;
+import com.foodygo.repository.UserRepository;
+import com.foodygo.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs on a throwaway MySQL and Redis seeded with {@value #LARGE_PAGE} rows for every listing, each pointing to parents of its own,
+ * so an association loaded row by row costs one more statement per row. Every hot listing is read with a small and a full page,
+ * the number of statements {@link SqlStatementCounter} records for the request has to stay under a fixed bound and must not grow
+ * with the page size. The JWT filter is skipped, the roles come from {@link WithMockUser}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@Import(TestcontainersConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(roles = {"USER", "MANAGER", "ADMIN"})
+class HotEndpointStatementCountTest {
+
+    private static final int SMALL_PAGE = 5;
+    private static final int LARGE_PAGE = 50;
+    private static final List<String> PAGE_CACHES = List.of("customers", "users", "buildings", "categories", "products", "restaurants");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private HubRepository hubRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderDetailRepository orderDetailRepository;
+
+    @Autowired
+    private OrderActivityRepository orderActivityRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Integer activityOrderId;
+    private Integer smallWalletId;
+    private Integer largeWalletId;
+
+    @BeforeAll
+    void seed() {
+        Role role = roleRepository.getRoleByRoleName(EnumRoleNameType.ROLE_USER);
+        Order activityOrder = null;
+        for (int i = 0; i < LARGE_PAGE; i++) {
+            Hub hub = hubRepository.save(Hub.builder().name("Statement hub " + i).address("Address " + i).build());
+            Building building = buildingRepository.save(Building.builder().name("Statement building " + i).hub(hub).build());
+            User user = userRepository.save(User.builder().email("statement-" + i + "@foodygo.test").fullName("User " + i)
+                    .role(role).enabled(true).nonLocked(true).build());
+            Customer customer = customerRepository.save(Customer.builder().user(user).building(building).build());
+            walletRepository.save(Wallet.builder().balance(0.0).walletType(WalletType.CUSTOMER).customer(customer).build());
+            Restaurant restaurant = restaurantRepository.save(Restaurant.builder().name("Statement restaurant " + i).build());
+            Category category = categoryRepository.save(Category.builder().name("Statement category " + i).restaurant(restaurant).build());
+            Product product = productRepository.save(Product.builder().code("STATEMENT-" + i).name("Product " + i).price(10.0)
+                    .restaurant(restaurant).category(category).build());
+            Order order = orderRepository.save(Order.builder().customer(customer).restaurant(restaurant).hub(hub)
+                    .status(OrderStatus.ORDERED).totalPrice(10.0).build());
+            orderDetailRepository.save(OrderDetail.builder().order(order).product(product).quantity(1).price(10.0).build());
+            if (activityOrder == null) {
+                activityOrder = order;
+            }
+            orderActivityRepository.save(OrderActivity.builder().order(activityOrder).user(user)
+                    .fromStatus(OrderStatus.ORDERED).toStatus(OrderStatus.RESTAURANT_ACCEPTED).time(LocalDateTime.now()).build());
+        }
+        activityOrderId = activityOrder.getId();
+        smallWalletId = seedTransactions(SMALL_PAGE);
+        largeWalletId = seedTransactions(LARGE_PAGE);
+    }
+
+    @Test
+    void customerPageRunsAFixedNumberOfStatements() throws Exception {
+        assertBounded("/api/v1/customers", "currentPage=1&status=active&pageSize=", 3);
+    }
+
+    @Test
+    void userPageRunsAFixedNumberOfStatements() throws Exception {
+        assertBounded("/api/v1/users", "currentPage=1&status=active&pageSize=", 3);
+    }
+
+    @Test
+    void buildingPageRunsAFixedNumberOfStatements() throws Exception {
+        assertBounded("/api/v1/buildings", "currentPage=1&status=active&pageSize=", 3);
+    }
+
+    @Test
+    void categoryPageRunsAFixedNumberOfStatements() throws Exception {
+        assertBounded("/api/v1/categories", "pageNo=0&pageSize=", 3);
+    }
+
+    // the page, its count and one batch each for the add-on sections and their items
+    @Test
+    void productPageRunsAFixedNumberOfStatements() throws Exception {
+        assertBounded("/api/v1/products", "pageNo=0&pageSize=", 4);
+    }
+
+    @Test
+    void restaurantPageRunsAFixedNumberOfStatements() throws Exception {
+        assertBounded("/api/v1/restaurants", "pageNo=0&pageSize=", 3);
+    }
+
+    // the page of order rows, its count and the details of every order on it with their products
+    @Test
+    void orderPageRunsAFixedNumberOfStatements() throws Exception {
+        assertBounded("/api/v1/orders", "pageNo=0&pageSize=", 3);
+    }
+
+    @Test
+    void orderActivityFeedRunsASingleStatement() throws Exception {
+        String pattern = "/api/v1/orders/{orderId}/activities/feed";
+        String uri = "/api/v1/orders/" + activityOrderId + "/activities/feed?limit=";
+        int small = statementsOf(pattern, uri + SMALL_PAGE);
+        int large = statementsOf(pattern, uri + LARGE_PAGE);
+
+        assertThat(small).isLessThanOrEqualTo(1);
+        assertThat(large).isLessThanOrEqualTo(1);
+    }
+
+    // the wallet of a transaction is not read, so a wallet with many transactions costs the same single query
+    @Test
+    void walletTransactionsRunASingleStatement() throws Exception {
+        String pattern = "/api/v1/wallets/{walletId}/transactions";
+        int small = statementsOf(pattern, "/api/v1/wallets/" + smallWalletId + "/transactions");
+        int large = statementsOf(pattern, "/api/v1/wallets/" + largeWalletId + "/transactions");
+
+        assertThat(small).isLessThanOrEqualTo(1);
+        assertThat(large).isLessThanOrEqualTo(small);
+    }
+
+    private Integer seedTransactions(int count) {
+        Wallet wallet = walletRepository.save(Wallet.builder().balance(0.0).walletType(WalletType.CUSTOMER).build());
+        for (int i = 0; i < count; i++) {
+            transactionRepository.save(Transaction.builder().wallet(wallet).amount(1.0).remaining(0.0)
+                    .type(TransactionType.TOP_UP).description("Statement " + i).build());
+        }
+        return wallet.getId();
+    }
+
+    private void assertBounded(String pattern, String query, int bound) throws Exception {
+        int small = statementsOf(pattern, pattern + "?" + query + SMALL_PAGE);
+        int large = statementsOf(pattern, pattern + "?" + query + LARGE_PAGE);
+
+        assertThat(small).as("statements for a page of %d", SMALL_PAGE).isLessThanOrEqualTo(bound);
+        assertThat(large).as("statements for a page of %d", LARGE_PAGE).isLessThanOrEqualTo(small);
+    }
+
+    // the counter keys requests by method and mapping pattern and keeps the count of the last one
+    private int statementsOf(String pattern, String uri) throws Exception {
+        skipPageCaches();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        return sqlStatementCounter.getStats().stream()
+                .filter(count -> count.getEndpoint().equals("GET " + pattern))
+                .findFirst()
+                .map(SqlCountResponse::getLastStatements)
+                .orElseThrow(() -> new AssertionError("No statement count recorded for " + pattern));
+    }
+
+    // a page served from Redis runs no statement at all, bumping the versions makes the next read go to the database
+    private void skipPageCaches() {
+        PAGE_CACHES.forEach(namespace -> stringRedisTemplate.opsForValue().increment("page:" + namespace + ":version"));
+    }
+}
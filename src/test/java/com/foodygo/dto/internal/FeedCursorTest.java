@@ -0,0 +1,44 @@
+package com.foodygo.dto.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeedCursorTest {
+
+    @Test
+    void startsAtTheNewestRowWithoutACursor() {
+        assertThat(FeedCursor.parse(null)).isEqualTo(FeedCursor.FIRST);
+        assertThat(FeedCursor.parse(" ")).isEqualTo(FeedCursor.FIRST);
+    }
+
+    @Test
+    void parsesWhatItEncodes() {
+        for (LocalDateTime time : new LocalDateTime[]{
+                LocalDateTime.of(2024, 5, 1, 10, 0),
+                LocalDateTime.of(2024, 5, 1, 10, 0, 7),
+                LocalDateTime.of(2024, 5, 1, 10, 0, 7, 123_456_000)}) {
+            FeedCursor cursor = new FeedCursor(42, time);
+            assertThat(FeedCursor.parse(cursor.encode())).isEqualTo(cursor);
+        }
+        assertThat(FeedCursor.parse(" 42 , 2024-05-01T10:00:07 ")).isEqualTo(new FeedCursor(42, LocalDateTime.of(2024, 5, 1, 10, 0, 7)));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        for (String after : new String[]{"42", "x,2024-05-01T10:00", "42,yesterday", ",2024-05-01T10:00", "42,"}) {
+            assertThatThrownBy(() -> FeedCursor.parse(after)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void clampsTheLimit() {
+        assertThat(FeedCursor.limit(0).getPageSize()).isEqualTo(1);
+        assertThat(FeedCursor.limit(-5).getPageSize()).isEqualTo(1);
+        assertThat(FeedCursor.limit(20).getPageSize()).isEqualTo(20);
+        assertThat(FeedCursor.limit(10_000).getPageSize()).isEqualTo(FeedCursor.MAX_LIMIT);
+    }
+}
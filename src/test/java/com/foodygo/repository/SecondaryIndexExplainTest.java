@@ -0,0 +1,102 @@
+package com.foodygo.repository;
+
+import com.foodygo.TestcontainersConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on a throwaway MySQL with the Flyway migrations applied, for the query shapes the indexes were added for,
+ * and checks that the optimizer picks the intended index for each of them.
+ * Every table gets a thousand rows spread over a hundred parents, half of them deleted and with mixed transaction types,
+ * so the composite indexes are more selective than the single column indexes of the foreign keys.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SecondaryIndexExplainTest {
+
+    private static final int ID_OFFSET = 1_000_000;
+    private static final String SEQUENCE = "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000) ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // the rows reference parents that are not seeded, so foreign keys are off on the one connection that writes them
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                statement.execute("INSERT INTO product (id, name, restaurant_id, category_id, available, deleted) " + SEQUENCE
+                        + "SELECT " + ID_OFFSET + " + n, CONCAT('product ', n), n % 100 + 1, n % 100 + 1, true, n % 2 = 0 FROM seq");
+                statement.execute("INSERT INTO category (id, name, restaurant_id, deleted) " + SEQUENCE
+                        + "SELECT " + ID_OFFSET + " + n, CONCAT('category ', n), n % 100 + 1, n % 2 = 0 FROM seq");
+                statement.execute("INSERT INTO `addon-item` (id, name, section_id, deleted) " + SEQUENCE
+                        + "SELECT " + ID_OFFSET + " + n, CONCAT('addon ', n), n % 100 + 1, n % 2 = 0 FROM seq");
+                statement.execute("INSERT INTO `account-transaction` (id, wallet_id, type, created_at, deleted) " + SEQUENCE
+                        + "SELECT " + ID_OFFSET + " + n, n % 100 + 1, ELT(n % 4 + 1, 'PAYMENT', 'REFUND', 'TOP_UP', 'TRANSFER'), "
+                        + "NOW() - INTERVAL n MINUTE, false FROM seq");
+                statement.execute("INSERT INTO `order-activity` (id, order_id, `time`, deleted) " + SEQUENCE
+                        + "SELECT " + ID_OFFSET + " + n, n % 100 + 1, NOW() - INTERVAL n MINUTE, false FROM seq");
+                statement.execute("INSERT INTO `customer-order` (id, customer_id, restaurant_id, employee_id, created_at, deleted) " + SEQUENCE
+                        + "SELECT " + ID_OFFSET + " + n, n % 100 + 1, n % 100 + 1, n % 100 + 1, NOW() - INTERVAL n MINUTE, false FROM seq");
+                statement.execute("INSERT INTO `user-account` (email, created_at, enabled, non_locked, deleted) " + SEQUENCE
+                        + "SELECT CONCAT('explain-', n, '@foodygo.test'), NOW() - INTERVAL n DAY, true, true, false FROM seq");
+                statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+                statement.execute("ANALYZE TABLE product, category, `addon-item`, `account-transaction`, `order-activity`, "
+                        + "`customer-order`, `user-account`");
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void menuListingsUseTheirIndexes() {
+        assertChosen("SELECT * FROM product WHERE restaurant_id = 1 AND deleted = false", "idx_product_restaurant");
+        assertChosen("SELECT * FROM product WHERE category_id = 1 AND deleted = false", "idx_product_category");
+        assertChosen("SELECT * FROM category WHERE restaurant_id = 1 AND deleted = false", "idx_category_restaurant");
+        assertChosen("SELECT * FROM `addon-item` WHERE section_id = 1 AND deleted = false", "idx_addon_item_section");
+    }
+
+    @Test
+    void walletHistoryUsesItsIndexes() {
+        assertChosen("SELECT * FROM `account-transaction` WHERE wallet_id = 1 AND type = 'PAYMENT'", "idx_transaction_wallet_type");
+        assertChosen("SELECT * FROM `account-transaction` WHERE wallet_id = 1 AND (created_at < NOW() OR (created_at = NOW() AND id < 10)) "
+                + "ORDER BY created_at DESC, id DESC LIMIT 20", "idx_transaction_wallet_created");
+    }
+
+    @Test
+    void feedsUseTheirIndexes() {
+        assertChosen("SELECT * FROM `order-activity` WHERE order_id = 1 ORDER BY `time` DESC, id DESC LIMIT 20", "idx_order_activity_order_time");
+        assertChosen("SELECT * FROM `customer-order` WHERE customer_id = 1 AND (created_at < NOW() OR (created_at = NOW() AND id < 10)) "
+                + "ORDER BY created_at DESC, id DESC LIMIT 20", "idx_order_customer_created");
+        assertChosen("SELECT * FROM `customer-order` WHERE restaurant_id = 1 AND (created_at < NOW() OR (created_at = NOW() AND id < 10)) "
+                + "ORDER BY created_at DESC, id DESC LIMIT 20", "idx_order_restaurant_created");
+        assertChosen("SELECT * FROM `customer-order` WHERE employee_id = 1 AND (created_at < NOW() OR (created_at = NOW() AND id < 10)) "
+                + "ORDER BY created_at DESC, id DESC LIMIT 20", "idx_order_employee_created");
+    }
+
+    @Test
+    void registerTodayCountUsesTheCreatedAtIndex() {
+        assertChosen("SELECT COUNT(*) FROM `user-account` WHERE created_at >= CURDATE() AND created_at < CURDATE() + INTERVAL 1 DAY",
+                "idx_user_created");
+    }
+
+    private void assertChosen(String query, String index) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + query);
+        assertThat(plan).isNotEmpty();
+        assertThat(plan.get(0).get("key")).as(query).isEqualTo(index);
+    }
+}
@@ -0,0 +1,98 @@
+package com.foodygo.search;
+
+import com.foodygo.dto.response.SuggestionResponse;
+import com.foodygo.enums.SearchType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    private static final List<SuggestionResponse> SUGGESTIONS = List.of(
+            suggestion(1, "Cơm tấm Sài Gòn", 50),
+            suggestion(2, "Cơm gà Hội An", 80),
+            suggestion(3, "Bánh mì", 120),
+            suggestion(4, "Bún bò Huế", 70),
+            suggestion(5, "Đậu hũ chiên", 10),
+            suggestion(6, "Bánh xèo", 90));
+
+    private final PrefixTrie trie = PrefixTrie.build(SUGGESTIONS);
+
+    @Test
+    void foldsCaseDiacriticsAndPunctuation() {
+        assertThat(PrefixTrie.fold("Cơm  Tấm, Sài-Gòn!")).isEqualTo("com tam sai gon");
+        assertThat(PrefixTrie.fold("Đậu hũ")).isEqualTo("dau hu");
+        assertThat(PrefixTrie.fold(" ... ")).isEqualTo("");
+        assertThat(PrefixTrie.fold(null)).isEqualTo("");
+    }
+
+    @Test
+    void matchesEveryWordStartAndRanksByWeight() {
+        assertThat(names(trie.complete("com", 10))).containsExactly("Cơm gà Hội An", "Cơm tấm Sài Gòn");
+        assertThat(names(trie.complete("tam", 10))).containsExactly("Cơm tấm Sài Gòn");
+        assertThat(names(trie.complete("BÁNH", 10))).containsExactly("Bánh mì", "Bánh xèo");
+        assertThat(names(trie.complete("b", 10))).containsExactly("Bánh mì", "Bánh xèo", "Bún bò Huế");
+        assertThat(names(trie.complete("dau", 10))).containsExactly("Đậu hũ chiên");
+        assertThat(names(trie.complete("com tam s", 10))).containsExactly("Cơm tấm Sài Gòn");
+    }
+
+    @Test
+    void stopsInsideAndAfterEdgeLabels() {
+        assertThat(names(trie.complete("banh m", 10))).containsExactly("Bánh mì");
+        assertThat(trie.complete("banhx", 10)).isEmpty();
+        assertThat(trie.complete("comx", 10)).isEmpty();
+        assertThat(trie.complete("z", 10)).isEmpty();
+        assertThat(trie.complete("", 10)).isEmpty();
+        assertThat(trie.complete("   ", 10)).isEmpty();
+    }
+
+    @Test
+    void honoursTheLimit() {
+        assertThat(names(trie.complete("b", 1))).containsExactly("Bánh mì");
+        assertThat(trie.complete("b", 0)).isEmpty();
+        assertThat(PrefixTrie.empty().complete("com", 10)).isEmpty();
+    }
+
+    // agrees with a linear scan over word starts for every prefix of every name
+    @Test
+    void agreesWithABruteForceScan() {
+        Random random = new Random(7);
+        String[] words = {"com", "comb", "co", "tam", "tamarind", "bun", "bo", "banh", "ba", "pho", "phong", "x"};
+        List<SuggestionResponse> candidates = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int w = random.nextInt(4); w >= 0; w--) {
+                name.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            candidates.add(suggestion(i, name.toString().trim(), random.nextInt(1000)));
+        }
+        PrefixTrie big = PrefixTrie.build(candidates);
+        List<SuggestionResponse> ranked = candidates.stream()
+                .sorted(Comparator.comparingLong(SuggestionResponse::getWeight).reversed()
+                        .thenComparing(SuggestionResponse::getName))
+                .toList();
+        for (String word : words) {
+            for (int length = 1; length <= word.length(); length++) {
+                String prefix = word.substring(0, length);
+                List<SuggestionResponse> expected = ranked.stream()
+                        .filter(candidate -> (" " + candidate.getName()).contains(" " + prefix))
+                        .limit(PrefixTrie.TOP)
+                        .toList();
+                assertThat(big.complete(prefix, PrefixTrie.TOP)).as(prefix).isEqualTo(expected);
+            }
+        }
+    }
+
+    private static SuggestionResponse suggestion(int id, String name, long weight) {
+        return new SuggestionResponse(SearchType.PRODUCT, id, name, weight);
+    }
+
+    private static List<String> names(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getName).toList();
+    }
+}
@@ -0,0 +1,133 @@
+package com.foodygo.service;
+
+import com.foodygo.dto.cart.Cart;
+import com.foodygo.dto.cart.CartAddOnItem;
+import com.foodygo.dto.cart.CartItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs against the configured Redis. Concurrent changes to one cart must neither lose an update nor let the total drift,
+ * and the stored total must follow every change of a line.
+ */
+@SpringBootTest
+class CartServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ADDS_PER_THREAD = 50;
+
+    @Autowired
+    private CartService cartService;
+
+    @MockitoBean
+    private PricingService pricingService;
+
+    private final int userId = ThreadLocalRandom.current().nextInt(1_000_000_000, Integer.MAX_VALUE);
+
+    @AfterEach
+    void clear() {
+        cartService.clearCart(userId);
+    }
+
+    @Test
+    void parallelAddsAreAllApplied() throws Exception {
+        // a price with cents, repeated float additions of it would drift
+        when(pricingService.price(any())).thenAnswer(invocation -> {
+            CartItem item = invocation.getArgument(0);
+            return new CartItem(item.getProductId(), "Product " + item.getProductId(), 12.35, item.getQuantity(),
+                    List.of(new CartAddOnItem(1, "Extra", 0.1, 1)));
+        });
+
+        List<Callable<Cart>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int productId = thread % 4 + 1;
+            tasks.add(() -> {
+                Cart cart = null;
+                for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                    cart = cartService.addToCart(userId, new CartItem(productId, null, null, 1, List.of()));
+                }
+                return cart;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Cart> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Cart cart = cartService.getCart(userId);
+        assertThat(cart.getItems()).hasSize(4);
+        int quantity = cart.getItems().stream().mapToInt(CartItem::getQuantity).sum();
+        assertThat(quantity).isEqualTo(THREADS * ADDS_PER_THREAD);
+        // 800 lines of 12.35 plus 4 add-ons of 0.10, summed exactly in minor units
+        assertThat(cart.getTotalPrice()).isEqualTo(9880.4);
+    }
+
+    @Test
+    void parallelIncrementsAndDecrementsCancelOut() throws Exception {
+        when(pricingService.price(any())).thenAnswer(invocation -> {
+            CartItem item = invocation.getArgument(0);
+            return new CartItem(item.getProductId(), "Product", 19.99, item.getQuantity(), List.of());
+        });
+        cartService.addToCart(userId, new CartItem(7, null, null, 1000, List.of()));
+
+        List<Callable<Cart>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int delta = thread % 2 == 0 ? 1 : -1;
+            tasks.add(() -> {
+                Cart cart = null;
+                for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                    cart = cartService.incrementQuantity(userId, 7, delta);
+                }
+                return cart;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Cart> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Cart cart = cartService.getCart(userId);
+        assertThat(cart.getItems()).hasSize(1);
+        assertThat(cart.getItems().get(0).getQuantity()).isEqualTo(1000);
+        assertThat(cart.getTotalPrice()).isEqualTo(19990.0);
+    }
+
+    @Test
+    void removingLinesMovesTheTotalByThoseLines() {
+        when(pricingService.price(any())).thenAnswer(invocation -> {
+            CartItem item = invocation.getArgument(0);
+            return new CartItem(item.getProductId(), "Product", 4.05, item.getQuantity(),
+                    List.of(new CartAddOnItem(1, "Extra", 0.3, 2)));
+        });
+        cartService.addToCart(userId, new CartItem(1, null, null, 3, List.of()));
+        cartService.addToCart(userId, new CartItem(2, null, null, 1, List.of()));
+
+        assertThat(cartService.incrementQuantity(userId, 1, -1).getTotalPrice()).isEqualTo(13.35);
+        assertThat(cartService.removeFromCart(userId, 2).getTotalPrice()).isEqualTo(8.7);
+        // the last line takes the stored total with it
+        assertThat(cartService.incrementQuantity(userId, 1, -2).getItems()).isEmpty();
+    }
+}
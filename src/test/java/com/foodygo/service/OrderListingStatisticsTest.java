@@ -0,0 +1,122 @@
+package com.foodygo.service;
+
+import com.foodygo.TestcontainersConfiguration;
+import com.foodygo.configuration.SqlStatementCounter;
+import com.foodygo.dto.response.OrderResponse;
+import com.foodygo.entity.Customer;
+import com.foodygo.entity.Order;
+import com.foodygo.entity.OrderDetail;
+import com.foodygo.entity.Product;
+import com.foodygo.entity.Restaurant;
+import com.foodygo.enums.OrderStatus;
+import com.foodygo.repository.CustomerRepository;
+import com.foodygo.repository.OrderDetailRepository;
+import com.foodygo.repository.OrderRepository;
+import com.foodygo.repository.ProductRepository;
+import com.foodygo.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on a throwaway MySQL seeded with orders of several details each. A page of orders costs the page query, the count query
+ * and one query for the details of the whole page, however many orders and details are on it.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderListingStatisticsTest {
+
+    private static final int ORDERS = 20;
+    private static final int DETAILS_PER_ORDER = 3;
+    // smaller than the seeded orders, so the count query runs as well
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final int STATEMENTS = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderDetailRepository orderDetailRepository;
+
+    private Integer customerId;
+    private Integer restaurantId;
+
+    @BeforeAll
+    void seed() {
+        Restaurant restaurant = restaurantRepository.save(Restaurant.builder().name("Listing restaurant").build());
+        Customer customer = customerRepository.save(Customer.builder().build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < DETAILS_PER_ORDER; i++) {
+            products.add(Product.builder().code("LISTING-" + i).name("Listing product " + i).price(10.0).available(true)
+                    .restaurant(restaurant).build());
+        }
+        productRepository.saveAll(products);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = orderRepository.save(Order.builder().customer(customer).restaurant(restaurant)
+                    .status(OrderStatus.ORDERED).totalPrice(10.0 * DETAILS_PER_ORDER).build());
+            List<OrderDetail> details = new ArrayList<>();
+            for (Product product : products) {
+                details.add(OrderDetail.builder().order(order).product(product).quantity(1).price(10.0).build());
+            }
+            orderDetailRepository.saveAll(details);
+        }
+        customerId = customer.getId();
+        restaurantId = restaurant.getId();
+    }
+
+    @Test
+    void listingAllOrdersRunsAFixedNumberOfQueries() {
+        assertPage(() -> orderService.getAllOrders(PAGE), false);
+    }
+
+    @Test
+    void listingOrdersOfACustomerRunsAFixedNumberOfQueries() {
+        assertPage(() -> orderService.getAllOrdersByCustomerId(customerId, PAGE), true);
+    }
+
+    @Test
+    void listingOrdersOfARestaurantRunsAFixedNumberOfQueries() {
+        assertPage(() -> orderService.getAllOrdersByRestaurantId(restaurantId, PAGE), true);
+    }
+
+    private void assertPage(Supplier<Page<OrderResponse>> listing, boolean onlySeeded) {
+        AtomicReference<Page<OrderResponse>> page = new AtomicReference<>();
+        int statements = sqlStatementCounter.count(() -> page.set(listing.get()));
+
+        assertThat(page.get().getContent()).hasSize(PAGE.getPageSize());
+        if (onlySeeded) {
+            assertThat(page.get().getTotalElements()).isEqualTo(ORDERS);
+            assertThat(page.get().getContent()).allSatisfy(order -> assertThat(order.getOrderDetails()).hasSize(DETAILS_PER_ORDER));
+        }
+        assertThat(statements).isEqualTo(STATEMENTS);
+    }
+}
@@ -0,0 +1,170 @@
+package com.foodygo.service;
+
+import com.foodygo.TestcontainersConfiguration;
+import com.foodygo.dto.response.TransactionHistoryResponse;
+import com.foodygo.entity.Wallet;
+import com.foodygo.enums.TransactionType;
+import com.foodygo.enums.WalletType;
+import com.foodygo.exception.IdempotencyConflictException;
+import com.foodygo.repository.TransactionRepository;
+import com.foodygo.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs on a throwaway MySQL, so the wallets and transactions it writes are gone with the container.
+ * Many concurrent retries of one request must move money once, hundreds of concurrent payments must all be applied exactly once,
+ * keys of different wallets must not collide, and a key reused for a different request must be rejected.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class WalletIdempotencyStressTest {
+
+    private static final int THREADS = 32;
+    private static final int PAYMENTS = 300;
+    private static final int ATTEMPTS_PER_PAYMENT = 2;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Integer walletId;
+    private Integer otherWalletId;
+
+    @BeforeEach
+    void createWallets() {
+        walletId = walletRepository.save(Wallet.builder().balance(1000.0).walletType(WalletType.CUSTOMER).build()).getId();
+        otherWalletId = walletRepository.save(Wallet.builder().balance(1000.0).walletType(WalletType.CUSTOMER).build()).getId();
+    }
+
+    @Test
+    void concurrentRetriesOfAPaymentChargeOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        List<TransactionHistoryResponse> responses = runConcurrently(() -> transactionService.processPayment(walletId, 10, key));
+
+        assertThat(responses.stream().map(TransactionHistoryResponse::getId).distinct().toList()).hasSize(1);
+        assertThat(walletRepository.findBalanceById(walletId)).isEqualTo(990.0);
+    }
+
+    @Test
+    void hundredsOfConcurrentPaymentsAreEachAppliedOnce() throws Exception {
+        List<String> keys = new ArrayList<>();
+        List<Callable<TransactionHistoryResponse>> tasks = new ArrayList<>();
+        for (int i = 0; i < PAYMENTS; i++) {
+            String key = UUID.randomUUID().toString();
+            keys.add(key);
+            // every payment is also retried while the first attempt may still be running
+            for (int attempt = 0; attempt < ATTEMPTS_PER_PAYMENT; attempt++) {
+                tasks.add(() -> transactionService.processPayment(walletId, 2, key));
+            }
+        }
+
+        List<TransactionHistoryResponse> responses = run(tasks);
+
+        // tasks and responses are in the same order, the attempts of one key are next to each other
+        Map<String, Set<Integer>> idsByKey = new HashMap<>();
+        for (int i = 0; i < responses.size(); i++) {
+            idsByKey.computeIfAbsent(keys.get(i / ATTEMPTS_PER_PAYMENT), key -> new HashSet<>()).add(responses.get(i).getId());
+        }
+        assertThat(idsByKey.values()).allSatisfy(ids -> assertThat(ids).hasSize(1));
+        assertThat(responses.stream().map(TransactionHistoryResponse::getId).collect(Collectors.toSet())).hasSize(PAYMENTS);
+        assertThat(transactionRepository.findByWalletIdAndType(walletId, TransactionType.PAYMENT)).hasSize(PAYMENTS);
+        assertThat(walletRepository.findBalanceById(walletId)).isEqualTo(1000.0 - 2 * PAYMENTS);
+    }
+
+    @Test
+    void concurrentRetriesOfATransferMoveMoneyOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        List<TransactionHistoryResponse> responses = runConcurrently(() -> transactionService.transferMoney(walletId, otherWalletId, 25, key));
+
+        assertThat(responses.stream().map(TransactionHistoryResponse::getId).distinct().toList()).hasSize(1);
+        assertThat(walletRepository.findBalanceById(walletId)).isEqualTo(975.0);
+        assertThat(walletRepository.findBalanceById(otherWalletId)).isEqualTo(1025.0);
+    }
+
+    @Test
+    void opposingTransfersWithDistinctKeysKeepTheTotal() throws Exception {
+        List<Callable<TransactionHistoryResponse>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            boolean forward = i % 2 == 0;
+            String key = UUID.randomUUID().toString();
+            tasks.add(() -> forward
+                    ? transactionService.transferMoney(walletId, otherWalletId, 5, key)
+                    : transactionService.transferMoney(otherWalletId, walletId, 5, key));
+        }
+        run(tasks);
+
+        assertThat(walletRepository.findBalanceById(walletId)).isEqualTo(1000.0);
+        assertThat(walletRepository.findBalanceById(otherWalletId)).isEqualTo(1000.0);
+    }
+
+    @Test
+    void keysAreScopedToTheirWallet() {
+        String key = UUID.randomUUID().toString();
+
+        TransactionHistoryResponse first = transactionService.processPayment(walletId, 10, key);
+        TransactionHistoryResponse second = transactionService.processPayment(otherWalletId, 10, key);
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(walletRepository.findBalanceById(walletId)).isEqualTo(990.0);
+        assertThat(walletRepository.findBalanceById(otherWalletId)).isEqualTo(990.0);
+    }
+
+    @Test
+    void aReplayWithADifferentRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+        transactionService.processPayment(walletId, 10, key);
+
+        assertThatThrownBy(() -> transactionService.processPayment(walletId, 11, key)).isInstanceOf(IdempotencyConflictException.class);
+        assertThatThrownBy(() -> transactionService.processRefund(walletId, 10, key)).isInstanceOf(IdempotencyConflictException.class);
+        assertThatThrownBy(() -> transactionService.transferMoney(walletId, otherWalletId, 10, key)).isInstanceOf(IdempotencyConflictException.class);
+        assertThat(walletRepository.findBalanceById(walletId)).isEqualTo(990.0);
+    }
+
+    private List<TransactionHistoryResponse> runConcurrently(Callable<TransactionHistoryResponse> task) throws Exception {
+        List<Callable<TransactionHistoryResponse>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(task);
+        }
+        return run(tasks);
+    }
+
+    private List<TransactionHistoryResponse> run(List<Callable<TransactionHistoryResponse>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<TransactionHistoryResponse> responses = new ArrayList<>();
+            for (Future<TransactionHistoryResponse> future : executor.invokeAll(tasks)) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
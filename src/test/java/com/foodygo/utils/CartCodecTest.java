@@ -0,0 +1,104 @@
+package com.foodygo.utils;
+
+import com.foodygo.dto.cart.CartAddOnItem;
+import com.foodygo.dto.cart.CartItem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The expected bytes are what Redis' {@code cmsgpack.pack} produces for the same Lua table: integral numbers in the smallest
+ * integer type, other numbers as float32 when that is exact and float64 otherwise, fixstr/str8 strings and fixarray arrays.
+ */
+class CartCodecTest {
+
+    @Test
+    void encodesLikeCmsgpack() {
+        CartItem item = new CartItem(12, "Pho bo", 45000.0, 2, List.of(
+                new CartAddOnItem(3, "Trung", 5000.0, 1),
+                new CartAddOnItem(7, "Quay", 2500.5, 3)));
+
+        byte[] expected = bytes(
+                0x95, 0x0c, str("Pho bo"), 0xcd, 0xaf, 0xc8, 0x02,
+                0x92,
+                0x94, 0x03, str("Trung"), 0xcd, 0x13, 0x88, 0x01,
+                0x94, 0x07, str("Quay"), 0xca, 0x45, 0x1c, 0x48, 0x00, 0x03);
+
+        assertThat(CartCodec.encode(item)).isEqualTo(expected);
+        assertThat(CartCodec.decode(expected)).isEqualTo(item);
+    }
+
+    @Test
+    void decodesEveryIntegerWidthAndDoubles() {
+        byte[] packed = bytes(
+                0x95, 0xcc, 0xc8, str("x"), 0xcb, 0x40, 0x28, 0x99, 0x99, 0x99, 0x99, 0x99, 0x9a, 0xce, 0x00, 0x01, 0x86, 0xa0,
+                0x91, 0x94, 0xd0, 0x80, 0xd9, 0x20, str32(), 0xd1, 0x80, 0x00, 0xff);
+
+        CartItem item = CartCodec.decode(packed);
+
+        assertThat(item.getProductId()).isEqualTo(200);
+        assertThat(item.getPrice()).isEqualTo(12.3);
+        assertThat(item.getQuantity()).isEqualTo(100000);
+        CartAddOnItem addOn = item.getCartAddOnItems().get(0);
+        assertThat(addOn.getAddOnItemId()).isEqualTo(-128);
+        assertThat(addOn.getAddOnItemName()).hasSize(32);
+        assertThat(addOn.getPrice()).isEqualTo(-32768.0);
+        assertThat(addOn.getQuantity()).isEqualTo(-1);
+    }
+
+    @Test
+    void roundTripsBoundaryValues() {
+        for (int value : new int[]{0, 127, 128, 255, 256, 65535, 65536, Integer.MAX_VALUE, -1, -32, -33, -128, -129, -32768, -32769, Integer.MIN_VALUE}) {
+            CartItem item = new CartItem(value, "p", (double) value, 1, List.of());
+            assertThat(CartCodec.decode(CartCodec.encode(item))).isEqualTo(item);
+        }
+    }
+
+    // cmsgpack writes an empty Lua table as an empty array, nil names come back as null
+    @Test
+    void roundTripsEmptyAddOnsAndNullName() {
+        CartItem item = new CartItem(5, null, 10.75, 4, null);
+
+        CartItem decoded = CartCodec.decode(CartCodec.encode(item));
+
+        assertThat(decoded.getProductName()).isNull();
+        assertThat(decoded.getPrice()).isEqualTo(10.75);
+        assertThat(decoded.getCartAddOnItems()).isEmpty();
+        assertThat(CartCodec.decode(bytes(0x95, 0x05, 0xa0, 0x0a, 0x01, 0x80)).getCartAddOnItems()).isEmpty();
+    }
+
+    @Test
+    void rejectsWhatIsNotACartLine() {
+        assertThatThrownBy(() -> CartCodec.decode("{\"productId\":1}".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] str(String value) {
+        byte[] text = value.getBytes(StandardCharsets.UTF_8);
+        byte[] packed = new byte[text.length + 1];
+        packed[0] = (byte) (0xa0 | text.length);
+        System.arraycopy(text, 0, packed, 1, text.length);
+        return packed;
+    }
+
+    private static byte[] str32() {
+        return "abcdefghijklmnopqrstuvwxyz012345".getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(Object... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Object part : parts) {
+            if (part instanceof byte[] array) {
+                out.writeBytes(array);
+            } else {
+                out.write((Integer) part);
+            }
+        }
+        return out.toByteArray();
+    }
+}
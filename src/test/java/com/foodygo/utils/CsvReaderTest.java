@@ -0,0 +1,68 @@
+package com.foodygo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainAndEmptyFields() throws IOException {
+        assertThat(readAll("name,price,,\nPho,45000,x,\n")).containsExactly(
+                List.of("name", "price", "", ""),
+                List.of("Pho", "45000", "x", ""));
+    }
+
+    @Test
+    void readsQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        assertThat(readAll("\"Bun, cha\",\"say \"\"hi\"\"\",\"two\nlines\"\n\"\",plain")).containsExactly(
+                List.of("Bun, cha", "say \"hi\"", "two\nlines"),
+                List.of("", "plain"));
+    }
+
+    @Test
+    void acceptsCrLfAndBareCrAndSkipsBlankLines() throws IOException {
+        assertThat(readAll("a,b\r\n\r\n\nc,d\re,f")).containsExactly(
+                List.of("a", "b"),
+                List.of("c", "d"),
+                List.of("e", "f"));
+    }
+
+    @Test
+    void reportsTheLineEachRecordStartsOn() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("h\n\n\"multi\nline\"\nlast\n"));
+
+        reader.next();
+        assertThat(reader.getLine()).isEqualTo(1);
+        reader.next();
+        assertThat(reader.getLine()).isEqualTo(3);
+        reader.next();
+        assertThat(reader.getLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuotedField() {
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"open,\nnever closed"));
+
+        assertThatThrownBy(() -> {
+            reader.next();
+            reader.next();
+        }).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("line 2");
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+}